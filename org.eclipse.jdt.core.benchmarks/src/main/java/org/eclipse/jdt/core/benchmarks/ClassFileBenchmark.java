@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generates the {@link ClassFile}s of the corpus, code streams, stack maps and constant pools included.
+ * The sources are resolved and analysed before each invocation. The class files are either all kept,
+ * or released unit by unit to the pool of the compiler, as a build does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(1)
+public class ClassFileBenchmark {
+
+	private Corpus corpus;
+	private CompilerFixture compiler;
+
+	@Setup
+	public void setUp() {
+		this.corpus = Corpus.load(Corpus.ALL);
+		this.compiler = new CompilerFixture();
+	}
+
+	@Setup(Level.Invocation)
+	public void analyseCode() {
+		this.compiler.buildTypeBindings(this.corpus);
+		this.compiler.completeTypeBindings();
+		this.compiler.resolve();
+		this.compiler.analyseCode();
+	}
+
+	@Benchmark
+	public int generateCode() {
+		int length = 0;
+		for (ClassFile classFile : this.compiler.generateCode())
+			length += classFile.getBytes().length;
+		return length;
+	}
+
+	@Benchmark
+	public long generateAndReleaseCode() {
+		return this.compiler.generateAndReleaseCode();
+	}
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reads the class files of the corpus with {@link ClassFileReader}, asking for their methods as the
+ * lookup environment does when it creates the binding of a binary type. The class files are
+ * compiled once, before the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassFileReaderBenchmark {
+
+	@Param({"false", "true"})
+	public boolean fullyInitialize;
+
+	private byte[][] classFiles;
+	private char[][] fileNames;
+
+	@Setup
+	public void setUp() {
+		CompilerFixture compiler = new CompilerFixture();
+		List<ClassFile> generated = compiler.compile(Corpus.load(Corpus.ALL));
+		this.classFiles = new byte[generated.size()][];
+		this.fileNames = new char[generated.size()][];
+		for (int i = 0; i < this.classFiles.length; i++) {
+			this.classFiles[i] = generated.get(i).getBytes();
+			this.fileNames[i] = generated.get(i).fileName();
+		}
+	}
+
+	@Benchmark
+	public void read(Blackhole blackhole) throws ClassFormatException {
+		for (int i = 0; i < this.classFiles.length; i++) {
+			ClassFileReader reader = new ClassFileReader(this.classFiles[i], this.fileNames[i], this.fullyInitialize);
+			blackhole.consume(reader.getMethods());
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Compiler whose stages can be run one at a time, so that a benchmark can prepare the units up to
+ * the stage it measures. The stages are the ones of {@link Compiler#compile(ICompilationUnit[])}:
+ * parsing and creation of the type bindings, completion of the type bindings, resolution, flow
+ * analysis and code generation.
+ * <p>
+ * Binary types are read from the running JDK and from the class path of the benchmark VM.
+ */
+public class CompilerFixture extends Compiler {
+
+	private CompilationUnitDeclaration[] units;
+
+public CompilerFixture() {
+	super(newNameEnvironment(),
+		DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+		newCompilerOptions(),
+		result -> { /* class files are read from the units */ },
+		new DefaultProblemFactory());
+}
+
+public static CompilerOptions newCompilerOptions() {
+	Map<String, String> settings = new HashMap<>();
+	settings.put(CompilerOptions.OPTION_Compliance, CompilerOptions.VERSION_17);
+	settings.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_17);
+	settings.put(CompilerOptions.OPTION_TargetPlatform, CompilerOptions.VERSION_17);
+	settings.put(CompilerOptions.OPTION_LineNumberAttribute, CompilerOptions.GENERATE);
+	settings.put(CompilerOptions.OPTION_SourceFileAttribute, CompilerOptions.GENERATE);
+	return new CompilerOptions(settings);
+}
+
+private static INameEnvironment newNameEnvironment() {
+	List<Classpath> classpaths = new ArrayList<>(Util.collectPlatformLibraries(null));
+	for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) { //$NON-NLS-1$
+		Classpath classpath = FileSystem.getClasspath(entry, null, null);
+		if (classpath != null)
+			classpaths.add(classpath);
+	}
+	return new FileSystem(classpaths.toArray(new Classpath[classpaths.size()]), null, false) {
+		// the constructor taking classpath entries is not public
+	};
+}
+
+/**
+ * Forgets the previous units, then parses the sources of the given corpus without their method
+ * bodies and creates the bindings of their types.
+ */
+public CompilationUnitDeclaration[] buildTypeBindings(Corpus corpus) {
+	reset();
+	ICompilationUnit[] sourceUnits = corpus.newCompilationUnits();
+	this.units = new CompilationUnitDeclaration[sourceUnits.length];
+	for (int i = 0; i < sourceUnits.length; i++) {
+		CompilationResult unitResult = new CompilationResult(sourceUnits[i], i, sourceUnits.length, this.options.maxProblemsPerUnit);
+		this.units[i] = this.parser.dietParse(sourceUnits[i], unitResult);
+		this.lookupEnvironment.buildTypeBindings(this.units[i], null /*no access restriction*/);
+	}
+	return this.units;
+}
+
+public void completeTypeBindings() {
+	this.lookupEnvironment.completeTypeBindings();
+}
+
+/**
+ * Parses the method bodies of the units, then resolves them.
+ */
+public void resolve() {
+	for (CompilationUnitDeclaration unit : this.units) {
+		this.lookupEnvironment.unitBeingCompleted = unit;
+		this.parser.getMethodBodies(unit);
+		if (unit.scope != null) {
+			unit.scope.faultInTypes();
+			unit.scope.verifyMethods(this.lookupEnvironment.methodVerifier());
+		}
+		unit.resolve();
+	}
+	this.lookupEnvironment.unitBeingCompleted = null;
+}
+
+public void analyseCode() {
+	for (CompilationUnitDeclaration unit : this.units) {
+		this.lookupEnvironment.unitBeingCompleted = unit;
+		unit.analyseCode();
+	}
+	this.lookupEnvironment.unitBeingCompleted = null;
+}
+
+/**
+ * Generates the class files of the units.
+ *
+ * @return the generated class files
+ */
+public List<ClassFile> generateCode() {
+	List<ClassFile> classFiles = new ArrayList<>();
+	for (CompilationUnitDeclaration unit : this.units) {
+		this.lookupEnvironment.unitBeingCompleted = unit;
+		unit.generateCode();
+		for (ClassFile classFile : unit.compilationResult.getClassFiles())
+			classFiles.add(classFile);
+	}
+	this.lookupEnvironment.unitBeingCompleted = null;
+	return classFiles;
+}
+
+/**
+ * Generates the class files of the units, reads their bytes and releases them unit by unit, as the
+ * requestors of the batch compiler and of the builder do, so that the class files are reused.
+ *
+ * @return the number of bytes of the class files
+ */
+public long generateAndReleaseCode() {
+	long length = 0;
+	for (CompilationUnitDeclaration unit : this.units) {
+		this.lookupEnvironment.unitBeingCompleted = unit;
+		unit.generateCode();
+		ClassFile[] classFiles = unit.compilationResult.getClassFiles();
+		for (ClassFile classFile : classFiles)
+			for (ByteBuffer buffer : classFile.getByteBuffers())
+				length += buffer.remaining();
+		this.lookupEnvironment.releaseClassFiles(classFiles);
+	}
+	this.lookupEnvironment.unitBeingCompleted = null;
+	return length;
+}
+
+/**
+ * Runs every stage on the sources of the given corpus.
+ *
+ * @return the generated class files
+ */
+public List<ClassFile> compile(Corpus corpus) {
+	buildTypeBindings(corpus);
+	completeTypeBindings();
+	resolve();
+	analyseCode();
+	return generateCode();
+}
+
+/**
+ * Answers the number of errors reported on the units since they were parsed.
+ */
+public int errorCount() {
+	int count = 0;
+	for (CompilationUnitDeclaration unit : this.units)
+		if (unit.compilationResult.hasErrors())
+			count += unit.compilationResult.getErrors().length;
+	return count;
+}
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+
+/**
+ * Sources compiled by the benchmarks. They are sources of the sibling modules, which the build of this
+ * module adds to its resources under the corpus directory, so that the benchmarks measure the same work
+ * from one build of the compiler to the next. A corpus is described by an index file of this module
+ * listing its sources, one per line, relative to the corpus directory.
+ */
+public final class Corpus {
+
+	/** Every source of the corpus. */
+	public static final String ALL = "all"; //$NON-NLS-1$
+	/** Generics and lambda heavy sources, which keep type inference busy. */
+	public static final String INFERENCE = "inference"; //$NON-NLS-1$
+
+	private static final String DIRECTORY = "/corpus/"; //$NON-NLS-1$
+
+	public final String name;
+	public final String[] fileNames;
+	public final char[][] contents;
+
+private Corpus(String name, String[] fileNames, char[][] contents) {
+	this.name = name;
+	this.fileNames = fileNames;
+	this.contents = contents;
+}
+
+/**
+ * Loads the corpus described by the index file of the given name.
+ */
+public static Corpus load(String name) {
+	List<String> fileNames = new ArrayList<>();
+	try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(name + ".txt"), StandardCharsets.UTF_8))) { //$NON-NLS-1$
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (!line.isEmpty() && line.charAt(0) != '#')
+				fileNames.add(line);
+		}
+		char[][] contents = new char[fileNames.size()][];
+		for (int i = 0; i < contents.length; i++) {
+			try (InputStream stream = open(fileNames.get(i))) {
+				contents[i] = new String(stream.readAllBytes(), StandardCharsets.UTF_8).toCharArray();
+			}
+		}
+		return new Corpus(name, fileNames.toArray(new String[fileNames.size()]), contents);
+	} catch (IOException e) {
+		throw new UncheckedIOException("Cannot load corpus " + name, e); //$NON-NLS-1$
+	}
+}
+
+/**
+ * Answers a corpus made of sources generated by a benchmark, for shapes of code which are too large
+ * to be checked in.
+ */
+public static Corpus generated(String name, String[] fileNames, String[] sources) {
+	char[][] contents = new char[sources.length][];
+	for (int i = 0; i < contents.length; i++)
+		contents[i] = sources[i].toCharArray();
+	return new Corpus(name, fileNames.clone(), contents);
+}
+
+private static InputStream open(String path) throws IOException {
+	InputStream stream = Corpus.class.getResourceAsStream(DIRECTORY + path);
+	if (stream == null)
+		throw new IOException("Missing corpus file " + path); //$NON-NLS-1$
+	return stream;
+}
+
+/**
+ * Answers new compilation units for the sources of the corpus. The compiler forgets the units it
+ * was given, so each compilation needs its own array.
+ */
+public ICompilationUnit[] newCompilationUnits() {
+	ICompilationUnit[] units = new ICompilationUnit[this.fileNames.length];
+	for (int i = 0; i < units.length; i++)
+		units[i] = new CompilationUnit(this.contents[i], this.fileNames[i], null);
+	return units;
+}
+
+public int size() {
+	return this.fileNames.length;
+}
+
+@Override
+public String toString() {
+	return this.name + " (" + this.fileNames.length + " sources)"; //$NON-NLS-1$ //$NON-NLS-2$
+}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Analyses the flow of a generated class shaped like the messages of protocol buffers: thousands of
+ * final fields assigned on both sides of conditionals, and methods with hundreds of locals checked
+ * for null. Once a method has more than 64 fields and locals, their definite assignment and null
+ * status live in the extra bits of UnconditionalFlowInfo, which are copied and merged at every branch.
+ * The class is resolved before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(1)
+public class FlowAnalysisBenchmark {
+
+	@Param({"500", "3000"})
+	public int fieldCount;
+
+	private Corpus corpus;
+	private CompilerFixture compiler;
+
+	@Setup
+	public void setUp() {
+		this.corpus = Corpus.generated("generated", //$NON-NLS-1$
+			new String[] {"Message.java"}, //$NON-NLS-1$
+			new String[] {generateMessage(this.fieldCount, 300)});
+		this.compiler = new CompilerFixture();
+	}
+
+	@Setup(Level.Invocation)
+	public void resolve() {
+		this.compiler.buildTypeBindings(this.corpus);
+		this.compiler.completeTypeBindings();
+		this.compiler.resolve();
+	}
+
+	@Benchmark
+	public void analyseCode() {
+		this.compiler.analyseCode();
+	}
+
+	/**
+	 * Answers the source of a class with the given number of final fields, all assigned by its constructor,
+	 * and with a method declaring the given number of locals.
+	 */
+	static String generateMessage(int fieldCount, int localCount) {
+		StringBuilder source = new StringBuilder();
+		source.append("@SuppressWarnings(\"unused\")\npublic class Message {\n"); //$NON-NLS-1$
+		for (int i = 0; i < fieldCount; i++)
+			source.append("\tprivate final String f").append(i).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		source.append("\tpublic Message(String[] values, boolean[] present) {\n"); //$NON-NLS-1$
+		for (int i = 0; i < fieldCount; i++) {
+			// a conditional rather than an if statement, to keep the code of the constructor within 64k
+			source.append("\t\tthis.f").append(i).append(" = present[").append(i) //$NON-NLS-1$ //$NON-NLS-2$
+				.append("] ? values[").append(i).append("] : null;\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		source.append("\t}\n"); //$NON-NLS-1$
+		source.append("\tpublic int serializedSize(String[] values) {\n\t\tint size = 0;\n"); //$NON-NLS-1$
+		for (int i = 0; i < localCount; i++) {
+			source.append("\t\tString v").append(i).append(" = values[").append(i).append("];\n") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				.append("\t\tif (v").append(i).append(" == null)\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t\tv").append(i).append(" = this.f").append(i % fieldCount).append(";\n") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				.append("\t\tif (v").append(i).append(" != null)\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t\tsize += v").append(i).append(".length();\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		source.append("\t\treturn size;\n\t}\n}\n"); //$NON-NLS-1$
+		return source.toString();
+	}
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves the generics and lambda heavy sources of the corpus, most of which is spent in the type
+ * inference of generic method invocations, diamonds and lambda expressions by InferenceContext18.
+ * The sources are parsed and their type bindings completed before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(1)
+public class InferenceBenchmark {
+
+	private Corpus corpus;
+	private CompilerFixture compiler;
+
+	@Setup
+	public void setUp() {
+		this.corpus = Corpus.load(Corpus.INFERENCE);
+		this.compiler = new CompilerFixture();
+	}
+
+	@Setup(Level.Invocation)
+	public void completeTypeBindings() {
+		this.compiler.buildTypeBindings(this.corpus);
+		this.compiler.completeTypeBindings();
+	}
+
+	@Benchmark
+	public void resolve() {
+		this.compiler.resolve();
+	}
+}
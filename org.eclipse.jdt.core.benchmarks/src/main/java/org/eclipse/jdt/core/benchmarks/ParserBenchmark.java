@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parses every source of the corpus with {@link Parser#parse(ICompilationUnit, CompilationResult)},
+ * and without the method bodies with {@link Parser#dietParse(ICompilationUnit, CompilationResult)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	private Corpus corpus;
+	private CompilerOptions options;
+	private Parser parser;
+
+	@Setup
+	public void setUp() {
+		this.corpus = Corpus.load(Corpus.ALL);
+		this.options = CompilerFixture.newCompilerOptions();
+		ProblemReporter problemReporter = new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), this.options, new DefaultProblemFactory());
+		this.parser = new Parser(problemReporter, this.options.parseLiteralExpressionsAsConstants);
+	}
+
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		ICompilationUnit[] units = this.corpus.newCompilationUnits();
+		for (int i = 0; i < units.length; i++)
+			blackhole.consume(this.parser.parse(units[i], new CompilationResult(units[i], i, units.length, this.options.maxProblemsPerUnit)));
+	}
+
+	@Benchmark
+	public void dietParse(Blackhole blackhole) {
+		ICompilationUnit[] units = this.corpus.newCompilationUnits();
+		for (int i = 0; i < units.length; i++)
+			blackhole.consume(this.parser.dietParse(units[i], new CompilationResult(units[i], i, units.length, this.options.maxProblemsPerUnit)));
+	}
+}
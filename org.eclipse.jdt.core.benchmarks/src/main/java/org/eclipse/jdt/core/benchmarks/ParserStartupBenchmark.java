@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the first use of the {@link Parser} in a fresh VM, as paid by command line tools and short
+ * lived processes which parse a single file: the initialization of the parser class, which loads the
+ * parser tables, and the parse of a first source. Each fork measures a single invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ParserStartupBenchmark {
+
+	private static final String PARSER = "org.eclipse.jdt.internal.compiler.parser.Parser"; //$NON-NLS-1$
+
+	private String fileName;
+	private char[] source;
+
+	@Setup
+	public void setUp() {
+		// the parser class must not be initialized here
+		Corpus corpus = Corpus.load(Corpus.ALL);
+		this.fileName = corpus.fileNames[0];
+		this.source = corpus.contents[0];
+	}
+
+	@Benchmark
+	public Class<?> initializeParser() throws ClassNotFoundException {
+		return Class.forName(PARSER, true, ParserStartupBenchmark.class.getClassLoader());
+	}
+
+	@Benchmark
+	public CompilationUnitDeclaration parseFirstSource() {
+		CompilerOptions options = CompilerFixture.newCompilerOptions();
+		ProblemReporter problemReporter = new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, new DefaultProblemFactory());
+		Parser parser = new Parser(problemReporter, options.parseLiteralExpressionsAsConstants);
+		ICompilationUnit unit = new CompilationUnit(this.source, this.fileName, null);
+		return parser.parse(unit, new CompilationResult(unit, 0, 1, options.maxProblemsPerUnit));
+	}
+}
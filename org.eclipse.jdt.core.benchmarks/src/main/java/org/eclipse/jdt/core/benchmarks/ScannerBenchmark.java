@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tokenizes every source of the corpus with {@link Scanner#getNextToken()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScannerBenchmark {
+
+	private Corpus corpus;
+	private Scanner scanner;
+
+	@Setup
+	public void setUp() {
+		this.corpus = Corpus.load(Corpus.ALL);
+		this.scanner = new Scanner(false /*comment*/, false /*whitespace*/, false /*nls*/, ClassFileConstants.JDK17 /*sourceLevel*/,
+				null /*taskTags*/, null /*taskPriorities*/, true /*taskCaseSensitive*/);
+	}
+
+	@Benchmark
+	public int getNextToken() throws InvalidInputException {
+		int count = 0;
+		for (char[] source : this.corpus.contents) {
+			this.scanner.setSource(source);
+			while (this.scanner.getNextToken() != TerminalTokens.TokenNameEOF)
+				count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ReadManager;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.util.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads the sources of the corpus from the disk, one after the other with
+ * {@link Util#getFileCharContent(File, String)}, and ahead of their consumer with a {@link ReadManager}.
+ * The files are written to a temporary directory first, so they are served from the file system cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceReaderBenchmark {
+
+	private File directory;
+	private File[] files;
+
+	@Setup
+	public void setUp() throws IOException {
+		Corpus corpus = Corpus.load(Corpus.ALL);
+		this.directory = Files.createTempDirectory("corpus").toFile(); //$NON-NLS-1$
+		this.files = new File[corpus.size()];
+		for (int i = 0; i < this.files.length; i++) {
+			this.files[i] = new File(this.directory, i + ".java"); //$NON-NLS-1$
+			Files.writeString(this.files[i].toPath(), new String(corpus.contents[i]), StandardCharsets.UTF_8);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		for (File file : this.files)
+			file.delete();
+		this.directory.delete();
+	}
+
+	@Benchmark
+	public long getFileCharContent() throws IOException {
+		long length = 0;
+		for (File file : this.files)
+			length += Util.getFileCharContent(file, Util.UTF_8).length;
+		return length;
+	}
+
+	@Benchmark
+	public long readManager() {
+		ICompilationUnit[] units = new ICompilationUnit[this.files.length];
+		for (int i = 0; i < units.length; i++)
+			units[i] = new CompilationUnit(null, this.files[i].getPath(), Util.UTF_8);
+		ReadManager readManager = new ReadManager(units, units.length);
+		long length = 0;
+		try {
+			for (ICompilationUnit unit : units)
+				length += readManager.getContents(unit).length;
+		} finally {
+			readManager.shutdown();
+		}
+		return length;
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generates the class files of a generated class with large switch statements, whose cases declare
+ * their own locals and branch to exception handlers. Every case, branch and handler is the target
+ * of a frame of the StackMapTable attribute, whose locals are the ones in scope at the target.
+ * The class is resolved and analysed before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(1)
+public class StackMapBenchmark {
+
+	@Param({"100", "500"})
+	public int caseCount;
+
+	private Corpus corpus;
+	private CompilerFixture compiler;
+
+	@Setup
+	public void setUp() {
+		this.corpus = Corpus.generated("generated", //$NON-NLS-1$
+			new String[] {"Dispatcher.java"}, //$NON-NLS-1$
+			new String[] {generateDispatcher(10, this.caseCount)});
+		this.compiler = new CompilerFixture();
+	}
+
+	@Setup(Level.Invocation)
+	public void analyseCode() {
+		this.compiler.buildTypeBindings(this.corpus);
+		this.compiler.completeTypeBindings();
+		this.compiler.resolve();
+		this.compiler.analyseCode();
+	}
+
+	@Benchmark
+	public int generateCode() {
+		int length = 0;
+		for (ClassFile classFile : this.compiler.generateCode())
+			length += classFile.getBytes().length;
+		return length;
+	}
+
+	/**
+	 * Answers the source of a class with the given number of methods, each made of a switch statement
+	 * with the given number of cases.
+	 */
+	static String generateDispatcher(int methodCount, int caseCount) {
+		StringBuilder source = new StringBuilder();
+		source.append("public class Dispatcher {\n"); //$NON-NLS-1$
+		for (int m = 0; m < methodCount; m++) {
+			source.append("\tpublic static long dispatch").append(m).append("(int key, String[] args, Object target) {\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\tlong result = 0;\n\t\tswitch (key) {\n"); //$NON-NLS-1$
+			for (int i = 0; i < caseCount; i++) {
+				source.append("\t\t\tcase ").append(i).append(": {\n") //$NON-NLS-1$ //$NON-NLS-2$
+					.append("\t\t\t\tString s").append(i).append(" = args[").append(i % 7).append("];\n") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					.append("\t\t\t\tint n").append(i).append(" = s").append(i).append(".length();\n") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					.append("\t\t\t\tif (target instanceof StringBuilder b").append(i).append(")\n") //$NON-NLS-1$ //$NON-NLS-2$
+					.append("\t\t\t\t\tb").append(i).append(".append(s").append(i).append(");\n") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					.append("\t\t\t\ttry {\n\t\t\t\t\tresult += Long.parseLong(s").append(i).append(") * n").append(i).append(";\n") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					.append("\t\t\t\t} catch (NumberFormatException e) {\n\t\t\t\t\tresult = n").append(i).append(" > 0 ? -result : result;\n\t\t\t\t}\n") //$NON-NLS-1$ //$NON-NLS-2$
+					.append("\t\t\t\tbreak;\n\t\t\t}\n"); //$NON-NLS-1$
+			}
+			source.append("\t\t}\n\t\treturn result;\n\t}\n"); //$NON-NLS-1$
+		}
+		source.append("}\n"); //$NON-NLS-1$
+		return source.toString();
+	}
+}
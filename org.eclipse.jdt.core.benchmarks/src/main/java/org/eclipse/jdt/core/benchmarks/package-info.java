@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+/**
+ * JMH benchmarks of the stages of the compiler, run over sources of the sibling modules
+ * (see {@link org.eclipse.jdt.core.benchmarks.Corpus}).
+ * <p>
+ * The module is only built with the <code>benchmarks</code> profile:
+ * <pre>
+ * mvn -Pbenchmarks -pl org.eclipse.jdt.core.benchmarks -am -DskipTests package
+ * java -jar org.eclipse.jdt.core.benchmarks/target/benchmarks.jar [regexp] [-rf json -rff result.json]
+ * </pre>
+ * Comparing the results of two builds of the compiler on the same machine shows the regressions of
+ * its hot paths.
+ */
+package org.eclipse.jdt.core.benchmarks;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -86,6 +87,7 @@ import org.eclipse.jdt.internal.compiler.codegen.AttributeNamesConstants;
 import org.eclipse.jdt.internal.compiler.codegen.CodeStream;
 import org.eclipse.jdt.internal.compiler.codegen.ConstantPool;
 import org.eclipse.jdt.internal.compiler.codegen.ExceptionLabel;
+import org.eclipse.jdt.internal.compiler.codegen.LocalVariableRanges;
 import org.eclipse.jdt.internal.compiler.codegen.Opcodes;
 import org.eclipse.jdt.internal.compiler.codegen.StackMapFrame;
 import org.eclipse.jdt.internal.compiler.codegen.StackMapFrameCodeStream;
@@ -133,6 +135,9 @@ import org.eclipse.jdt.internal.compiler.util.Util;
  * byte[] getBytes();
  *		Answer the actual bytes of the class file
  *
+ * ByteBuffer[] getByteBuffers();
+ *		Answer the actual bytes of the class file, without copying them
+ *
  * char[][] getCompoundName();
  * 		Answer the compound name of the class file.
  * 		For example, {{java}, {util}, {Hashtable}}.
@@ -179,6 +184,8 @@ public class ClassFile implements TypeConstants, TypeIds {
 
 	public Set<TypeBinding> visitedTypes;
 
+	private LocalVariableRanges localVariableRanges; // only set while traverse(..) runs
+
 	public static final int INITIAL_CONTENTS_SIZE = 400;
 	public static final int INITIAL_HEADER_SIZE = 1500;
 	public static final int INNER_CLASSES_SIZE = 5;
@@ -5668,6 +5675,25 @@ public class ClassFile implements TypeConstants, TypeIds {
 		}
 		return this.bytes;
 	}
+	/**
+	 * EXTERNAL API
+	 * Answer the actual bytes of the class file as read only buffers, which are to be read in sequence.
+	 *
+	 * Unlike {@link #getBytes()}, the bytes are not copied: the buffers are views on the constant pool
+	 * and on the contents of the receiver, and are only valid until the receiver is released to the
+	 * {@link ClassFilePool} it comes from, usually right after the requestor accepted its compilation result.
+	 *
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] getByteBuffers() {
+		if (this.bytes != null) {
+			return new ByteBuffer[] { ByteBuffer.wrap(this.bytes).asReadOnlyBuffer() };
+		}
+		return new ByteBuffer[] {
+			ByteBuffer.wrap(this.header, 0, this.headerOffset).slice().asReadOnlyBuffer(),
+			ByteBuffer.wrap(this.contents, 0, this.contentsOffset).slice().asReadOnlyBuffer()
+		};
+	}
 	/**
 	 * EXTERNAL API
 	 * Answer the compound name of the class file.
@@ -6018,26 +6044,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 		for (; i < localsLength; i++) {
 			locals[i] = null;
 		}
-		i = 0;
-		locals: for (int max = this.codeStream.allLocalsCounter; i < max; i++) {
-			LocalVariableBinding localVariable = this.codeStream.locals[i];
-			if (localVariable == null) continue;
-			int resolvedPosition = localVariable.resolvedPosition;
-			final TypeBinding localVariableTypeBinding = localVariable.type;
-			inits: for (int j = 0; j < localVariable.initializationCount; j++) {
-				int startPC = localVariable.initializationPCs[j << 1];
-				int endPC = localVariable.initializationPCs[(j << 1) + 1];
-				if (currentPC < startPC) {
-					continue inits;
-				}
-                if (currentPC < endPC) {
+		for (int slot = 0, max = Math.min(localsLength, this.localVariableRanges.slotCount()); slot < max; slot++) {
+			if (locals[slot] == null) {
+				LocalVariableBinding localVariable = this.localVariableRanges.activeLocal(slot, currentPC);
+				if (localVariable != null) {
 					// the current local is an active local
-					if (currentFrame.locals[resolvedPosition] == null) {
-						currentFrame.locals[resolvedPosition] =
-								new VerificationTypeInfo(
-										localVariableTypeBinding);
-					}
-					continue locals;
+					locals[slot] = new VerificationTypeInfo(localVariable.type);
 				}
 			}
 		}
@@ -6178,24 +6190,8 @@ public class ClassFile implements TypeConstants, TypeIds {
 	}
 
 	private VerificationTypeInfo retrieveLocal(int currentPC, int resolvedPosition) {
-		for (int i = 0, max = this.codeStream.allLocalsCounter; i < max; i++) {
-			LocalVariableBinding localVariable = this.codeStream.locals[i];
-			if (localVariable == null) continue;
-			if (resolvedPosition == localVariable.resolvedPosition) {
-				inits: for (int j = 0; j < localVariable.initializationCount; j++) {
-					int startPC = localVariable.initializationPCs[j << 1];
-					int endPC = localVariable.initializationPCs[(j << 1) + 1];
-					if (currentPC < startPC) {
-						continue inits;
-					}
-                    if (currentPC < endPC) {
-						// the current local is an active local
-						return new VerificationTypeInfo(localVariable.type);
-					}
-				}
-			}
-		}
-		return null;
+		LocalVariableBinding localVariable = this.localVariableRanges.activeLocal(resolvedPosition, currentPC);
+		return localVariable == null ? null : new VerificationTypeInfo(localVariable.type);
 	}
 
 	private int scanType(char[] methodSignature, int index) {
@@ -6496,6 +6492,8 @@ public class ClassFile implements TypeConstants, TypeIds {
 		if (!isClinit) {
 			initializeDefaultLocals(frame, methodBinding, maxLocals, codeLength);
 		}
+		// the locals in scope at a pc are looked up for every frame and every load of a local
+		this.localVariableRanges = new LocalVariableRanges(this.codeStream.locals, this.codeStream.allLocalsCounter);
 		frame.pc = -1;
 		add(frames, frame.duplicate(), scope);
 		addRealJumpTarget(realJumpTarget, -1);
@@ -6534,7 +6532,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 					currentFrame = createNewFrame(currentPC, frame, isClinit, methodBinding);
 					add(frames, currentFrame, scope);
 				} else {
-					frame = currentFrame.merge(frame.duplicate(), scope).duplicate();
+					frame = currentFrame.merge(frame, scope).duplicate();
 				}
 				indexInFramePositions++;
 				if (indexInFramePositions < framePositionsLength) {
@@ -7524,6 +7522,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 				break;
 			}
 		}
+		this.localVariableRanges = null;
 		return filterFakeFrames(realJumpTarget, frames, codeLength);
 	}
 
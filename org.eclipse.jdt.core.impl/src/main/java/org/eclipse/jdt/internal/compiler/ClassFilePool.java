@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,9 +19,18 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 
+/**
+ * Class files reused by the types generated during a compilation. A class file keeps the buffers of
+ * its constant pool and contents when it is released, so that once a few types were generated,
+ * the buffers are large enough for the next ones and stop being grown and copied.
+ * <p>
+ * The pool grows with the number of class files which are not released yet, which depends on how
+ * many compilation results are waiting for their requestor, and is emptied by {@link #reset()}.
+ */
 public class ClassFilePool {
 	public static final int POOL_SIZE = 25; // need to have enough for 2 units
-	ClassFile[] classFiles;
+	ClassFile[] classFiles; // released class files, ready to be reused
+	int count;
 
 private ClassFilePool() {
 	// prevent instantiation
@@ -33,43 +42,39 @@ public static ClassFilePool newInstance() {
 }
 
 public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(typeBinding);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
-			classFile.isShared = true;
-			return classFile;
-		}
+	ClassFile classFile;
+	if (this.count > 0) {
+		classFile = this.classFiles[--this.count];
+		this.classFiles[this.count] = null;
+		classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
+	} else {
+		classFile = new ClassFile(typeBinding);
 	}
-	return new ClassFile(typeBinding);
+	classFile.isShared = true;
+	return classFile;
 }
 public synchronized ClassFile acquireForModule(ModuleBinding moduleBinding, CompilerOptions options) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(moduleBinding, options);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(null, options);
-			classFile.isShared = true;
-			return classFile;
-		}
+	ClassFile classFile;
+	if (this.count > 0) {
+		classFile = this.classFiles[--this.count];
+		this.classFiles[this.count] = null;
+		classFile.reset(null, options);
+	} else {
+		classFile = new ClassFile(moduleBinding, options);
 	}
-	return new ClassFile(moduleBinding, options);
+	classFile.isShared = true;
+	return classFile;
 }
 public synchronized void release(ClassFile classFile) {
+	if (!classFile.isShared)
+		return; // not acquired from this pool, or already released
 	classFile.isShared = false;
+	if (this.count == this.classFiles.length)
+		System.arraycopy(this.classFiles, 0, this.classFiles = new ClassFile[this.count * 2], 0, this.count);
+	this.classFiles[this.count++] = classFile;
 }
-public void reset() {
+public synchronized void reset() {
 	Arrays.fill(this.classFiles, null);
+	this.count = 0;
 }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public ProblemReporter problemReporter;
 	protected PrintWriter out; // output for messages that are not sent to problemReporter
 	public CompilerStats stats;
+	public CompilationProfile profile; // per unit and per phase profile, null unless requested
 	public CompilationProgress progress;
 	public int remainingIterations = 1;
 
@@ -58,6 +59,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	public int parserThreadCount = 1; // number of worker threads parsing the initial units when not using a single thread
 
 	// number of initial units parsed at once (-1: none)
 
@@ -583,8 +585,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 					reportWorked(1, i);
 					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
+					this.stats.unitCount++;
 					long acceptStart = System.currentTimeMillis();
+					long[] writeMark = this.profile == null ? null : this.profile.mark();
 					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+					if (writeMark != null)
+						this.profile.record(CompilationProfile.WRITE, unit.getFileName(), writeMark);
 					this.stats.generateTime += System.currentTimeMillis() - acceptStart; // record accept time as part of generation
 					if (this.options.verbose)
 						this.out.println(
@@ -611,7 +617,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					if (unit == null) break;
 					reportWorked(1, acceptedCount++);
 					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
+					this.stats.unitCount++;
+					long[] writeMark = this.profile == null ? null : this.profile.mark();
 					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+					if (writeMark != null)
+						this.profile.record(CompilationProfile.WRITE, unit.getFileName(), writeMark);
 					if (this.options.verbose)
 						this.out.println(
 							Messages.bind(Messages.compilation_done,
@@ -820,57 +830,84 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 */
 	protected void internalBeginToCompile(ICompilationUnit[] sourceUnits, int maxUnits) {
 		abortIfPreviewNotAllowed(sourceUnits,maxUnits);
-		if (!this.useSingleThread && maxUnits >= ReadManager.THRESHOLD)
-			this.parser.readManager = new ReadManager(sourceUnits, maxUnits);
-		// Switch the current policy and compilation result for this unit to the requested one.
-		for (int i = 0; i < maxUnits; i++) {
-			CompilationResult unitResult = null;
-			try {
-				if (this.options.verbose) {
-					this.out.println(
-						Messages.bind(Messages.compilation_request,
-						new String[] {
-							String.valueOf(i + 1),
-							String.valueOf(maxUnits),
-							new String(sourceUnits[i].getFileName())
-						}));
-				}
-				// diet parsing for large collection of units
-				CompilationUnitDeclaration parsedUnit;
-				unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
-				long parseStart = System.currentTimeMillis();
-				if (this.totalUnits < this.parseThreshold) {
-					parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
-				} else {
-					parsedUnit = this.parser.dietParse(sourceUnits[i], unitResult);
-				}
-				long resolveStart = System.currentTimeMillis();
-				this.stats.parseTime += resolveStart - parseStart;
-				// initial type binding creation
-				this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
-				this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
-				addCompilationUnit(sourceUnits[i], parsedUnit);
-				ImportReference currentPackage = parsedUnit.currentPackage;
-				if (currentPackage != null) {
-					unitResult.recordPackageName(currentPackage.tokens);
+		ParseTaskManager parsingTask = null;
+		if (!this.useSingleThread && maxUnits >= ReadManager.THRESHOLD) {
+			// worker parsers can only be created for the default parser, subclasses keep reading ahead
+			if (this.parserThreadCount > 1 && this.parser.getClass() == Parser.class)
+				parsingTask = new ParseTaskManager(this, sourceUnits, maxUnits, this.parserThreadCount);
+			else {
+				if (this.stats.readQueue == null)
+					this.stats.readQueue = new QueueStats(ReadManager.CACHE_SIZE);
+				this.parser.readManager = new ReadManager(sourceUnits, maxUnits, this.stats.readQueue);
+			}
+		}
+		try {
+			// Switch the current policy and compilation result for this unit to the requested one.
+			for (int i = 0; i < maxUnits; i++) {
+				CompilationResult unitResult = null;
+				try {
+					if (this.options.verbose) {
+						this.out.println(
+							Messages.bind(Messages.compilation_request,
+							new String[] {
+								String.valueOf(i + 1),
+								String.valueOf(maxUnits),
+								new String(sourceUnits[i].getFileName())
+							}));
+					}
+					// diet parsing for large collection of units
+					CompilationUnitDeclaration parsedUnit;
+					long parseStart = System.currentTimeMillis();
+					long[] mark = this.profile == null ? null : this.profile.mark();
+					if (parsingTask != null) {
+						unitResult = parsingTask.results[i];
+						parsedUnit = parsingTask.getParsedUnit(i);
+					} else {
+						unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
+						if (this.totalUnits < this.parseThreshold) {
+							parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
+						} else {
+							parsedUnit = this.parser.dietParse(sourceUnits[i], unitResult);
+						}
+					}
+					long resolveStart = System.currentTimeMillis();
+					this.stats.parseTime += resolveStart - parseStart;
+					if (mark != null)
+						mark = this.profile.record(parsingTask != null ? CompilationProfile.WAIT_FOR_PARSE : CompilationProfile.PARSE, parsedUnit.getFileName(), mark);
+					// initial type binding creation
+					this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
+					this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+					if (mark != null)
+						this.profile.record(CompilationProfile.BUILD_TYPE_BINDINGS, parsedUnit.getFileName(), mark);
+					addCompilationUnit(sourceUnits[i], parsedUnit);
+					ImportReference currentPackage = parsedUnit.currentPackage;
+					if (currentPackage != null) {
+						unitResult.recordPackageName(currentPackage.tokens);
+					}
+					//} catch (AbortCompilationUnit e) {
+					//	requestor.acceptResult(unitResult.tagAsAccepted());
+				} catch (AbortCompilation a) {
+					// best effort to find a way for reporting this problem:
+					if (a.compilationResult == null)
+						a.compilationResult = unitResult;
+					throw a;
+				} finally {
+					sourceUnits[i] = null; // no longer hold onto the unit
 				}
-				//} catch (AbortCompilationUnit e) {
-				//	requestor.acceptResult(unitResult.tagAsAccepted());
-			} catch (AbortCompilation a) {
-				// best effort to find a way for reporting this problem:
-				if (a.compilationResult == null)
-					a.compilationResult = unitResult;
-				throw a;
-			} finally {
-				sourceUnits[i] = null; // no longer hold onto the unit
 			}
+		} finally {
+			if (parsingTask != null)
+				parsingTask.shutdown();
 		}
 		if (this.parser.readManager != null) {
 			this.parser.readManager.shutdown();
 			this.parser.readManager = null;
 		}
 		// binding resolution
+		long[] mark = this.profile == null ? null : this.profile.mark();
 		this.lookupEnvironment.completeTypeBindings();
+		if (mark != null)
+			this.profile.record(CompilationProfile.COMPLETE_TYPE_BINDINGS, null, mark);
 	}
 
 	/**
@@ -879,11 +916,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public void process(CompilationUnitDeclaration unit, int i) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
 		long parseStart = System.currentTimeMillis();
+		long[] mark = this.profile == null ? null : this.profile.mark();
 
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
 		this.stats.parseTime += resolveStart - parseStart;
+		if (mark != null)
+			mark = this.profile.record(CompilationProfile.PARSE, unit.getFileName(), mark);
 
 		// fault in fields & methods
 		if (unit.scope != null)
@@ -898,12 +938,16 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 		long analyzeStart = System.currentTimeMillis();
 		this.stats.resolveTime += analyzeStart - resolveStart;
+		if (mark != null)
+			mark = this.profile.record(CompilationProfile.RESOLVE, unit.getFileName(), mark);
 
 		//No need of analysis or generation of code if statements are not required
 		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
 
 		long generateStart = System.currentTimeMillis();
 		this.stats.analyzeTime += generateStart - analyzeStart;
+		if (mark != null)
+			mark = this.profile.record(CompilationProfile.ANALYSE, unit.getFileName(), mark);
 
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
 
@@ -915,6 +959,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.finalizeProblems();
 
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		if (mark != null)
+			this.profile.record(CompilationProfile.GENERATE, unit.getFileName(), mark);
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilationProfile;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+/**
+ * Parses the initial compilation units on a pool of worker threads, each one owning its own
+ * {@link Parser} and {@link ProblemReporter}. Parsing does not touch the lookup environment,
+ * so it is the only stage which can run ahead of the compiler thread; type bindings are still
+ * built by the compiler thread, in the original order of the units.
+ * <p>
+ * A worker only touches the unit it parses and its result until the unit is handed over by
+ * {@link #getParsedUnit(int)}, and the compiler thread does not know a unit before then. Method
+ * bodies are parsed by the compiler thread when a unit is processed: they cannot be parsed ahead,
+ * since the resolution of a unit may report problems against the units which follow it.
+ */
+public class ParseTaskManager {
+
+	Compiler compiler;
+	CompilationResult[] results;
+	private ICompilationUnit[] units; // units not submitted yet
+	private boolean[] fullParses;
+	private int nextUnitToSubmit;
+	private int window; // maximum number of parsed units waiting for the compiler thread
+	private Future<?>[] parsedUnits;
+	private ExecutorService executor;
+	private ThreadLocal<Parser> parsers;
+
+public ParseTaskManager(Compiler compiler, ICompilationUnit[] units, int length, int threadCount) {
+	this.compiler = compiler;
+	this.results = new CompilationResult[length];
+	this.units = new ICompilationUnit[length];
+	this.fullParses = new boolean[length];
+	this.parsedUnits = new Future<?>[length];
+	this.parsers = ThreadLocal.withInitial(this::newParser);
+	this.executor = newExecutor(threadCount);
+	this.window = 4 * threadCount; // keep every worker busy without retaining the parsed units of the whole batch
+
+	int firstIndex = compiler.totalUnits; // units are appended after the ones already known
+	int maxProblems = compiler.options.maxProblemsPerUnit;
+	for (int i = 0; i < length; i++) {
+		this.units[i] = units[i];
+		this.results[i] = new CompilationResult(units[i], i, length, maxProblems);
+		this.fullParses[i] = firstIndex + i < compiler.parseThreshold;
+	}
+	submitUnitsBefore(Math.min(this.window, length));
+}
+
+private void submitUnitsBefore(int index) {
+	for (; this.nextUnitToSubmit < index; this.nextUnitToSubmit++) {
+		int i = this.nextUnitToSubmit;
+		ICompilationUnit unit = this.units[i];
+		CompilationResult unitResult = this.results[i];
+		boolean fullParse = this.fullParses[i];
+		this.units[i] = null;
+		this.parsedUnits[i] = this.executor.submit(() -> parse(unit, unitResult, fullParse));
+	}
+}
+
+private static ExecutorService newExecutor(int threadCount) {
+	return Executors.newFixedThreadPool(threadCount, r -> {
+		Thread thread = new Thread(r, "Compiler Parsing Task"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+}
+
+private Parser newParser() {
+	ProblemReporter reporter = this.compiler.problemReporter;
+	return new Parser(
+		new ProblemReporter(reporter.policy, this.compiler.options, reporter.problemFactory),
+		this.compiler.options.parseLiteralExpressionsAsConstants);
+}
+
+/*
+ * Answers the parser of the current worker with new scanners: the nodes parsed by a worker keep the
+ * scanner which created them, which the compiler thread uses to copy them (see ReferenceExpression#copy())
+ * while the worker parses the next units.
+ */
+private Parser getParser() {
+	Parser parser = this.parsers.get();
+	parser.initializeScanner();
+	parser.recoveryScanner = null;
+	return parser;
+}
+
+private CompilationUnitDeclaration parse(ICompilationUnit unit, CompilationResult unitResult, boolean fullParse) {
+	Parser parser = getParser();
+	CompilationProfile profile = this.compiler.profile;
+	long[] mark = profile == null ? null : profile.mark();
+	CompilationUnitDeclaration parsedUnit = fullParse ? parser.parse(unit, unitResult) : parser.dietParse(unit, unitResult);
+	if (mark != null)
+		profile.record(CompilationProfile.PARSE, unit.getFileName(), mark);
+	return parsedUnit;
+}
+
+/**
+ * Answers the parsed unit at the given index, waiting for a worker to finish it if needed.
+ * Exceptions thrown while parsing are rethrown in the calling thread.
+ */
+public CompilationUnitDeclaration getParsedUnit(int index) throws Error {
+	submitUnitsBefore(Math.min(index + 1 + this.window, this.parsedUnits.length));
+	Future<?> future = this.parsedUnits[index];
+	this.parsedUnits[index] = null; // release the parsed unit as soon as it is handed over
+	return (CompilationUnitDeclaration) get(future);
+}
+
+private static Object get(Future<?> future) throws Error {
+	try {
+		return future.get();
+	} catch (ExecutionException e) {
+		// rethrow the caught exception from the parsing thread in the compiler thread
+		Throwable cause = e.getCause();
+		if (cause instanceof Error)
+			throw (Error) cause;
+		if (cause instanceof RuntimeException)
+			throw (RuntimeException) cause;
+		throw new RuntimeException(cause);
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new AbortCompilation(true, null);
+	}
+}
+
+public void shutdown() {
+	// workers may be reading a file, which is never interrupted, pending tasks are simply dropped
+	for (Future<?> future : this.parsedUnits)
+		if (future != null)
+			future.cancel(false);
+	this.executor.shutdown();
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,123 +14,105 @@
 
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.impl.QueueStats;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 
 public class ProcessTaskManager implements Runnable {
 
 	Compiler compiler;
 	private int unitIndex;
-	private Thread processingThread;
-	CompilationUnitDeclaration unitToProcess;
-	private Throwable caughtException;
+	private volatile Thread processingThread;
+	volatile CompilationUnitDeclaration unitToProcess;
+	private volatile Throwable caughtException;
 
 	// queue
-	volatile int currentIndex, availableIndex, size, sleepCount;
-	CompilationUnitDeclaration[] units;
+	private final BlockingQueue<Object> units;
+	private final QueueStats queueStats;
+	private static final Object END_OF_UNITS = new Object(); // marks the end of the processed units
 
-	public static final int PROCESSED_QUEUE_SIZE = 100;
+	public static final int PROCESSED_QUEUE_SIZE = Integer.getInteger("jdt.compiler.processedQueueSize", 100).intValue(); //$NON-NLS-1$
 
 public ProcessTaskManager(Compiler compiler, int startingIndex) {
 	this.compiler = compiler;
 	this.unitIndex = startingIndex;
-
-	this.currentIndex = 0;
-	this.availableIndex = 0;
-	this.size = PROCESSED_QUEUE_SIZE;
-	this.sleepCount = 0; // 0 is no one, +1 is the processing thread & -1 is the writing/main thread
-	this.units = new CompilationUnitDeclaration[this.size];
-
-	synchronized (this) {
-		this.processingThread = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
-		this.processingThread.setDaemon(true);
-		this.processingThread.start();
-	}
+	this.units = new ArrayBlockingQueue<>(PROCESSED_QUEUE_SIZE);
+	if (compiler.stats.processedQueue == null)
+		compiler.stats.processedQueue = new QueueStats(PROCESSED_QUEUE_SIZE);
+	this.queueStats = compiler.stats.processedQueue;
+
+	this.processingThread = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
+	this.processingThread.setDaemon(true);
+	this.processingThread.start();
 }
 
-// add unit to the queue - wait if no space is available
-private synchronized void addNextUnit(CompilationUnitDeclaration newElement) {
-	while (this.units[this.availableIndex] != null) {
-		//System.out.print('a');
-		//if (this.sleepCount < 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-		this.sleepCount = 1;
-		try {
-			wait(250);
-		} catch (InterruptedException ignore) {
-			// ignore
+// add element to the queue - wait if no space is available, answer false if shutdown meanwhile
+private boolean addNext(Object newElement) {
+	this.queueStats.recordDepth(this.units.size());
+	if (this.units.offer(newElement))
+		return true;
+	long start = System.nanoTime();
+	try {
+		// the writing thread wakes us up as soon as it takes a unit, the timeout only checks for shutdown
+		while (!this.units.offer(newElement, 250, TimeUnit.MILLISECONDS)) {
+			if (this.processingThread == null)
+				return false;
 		}
-		this.sleepCount = 0;
+		return true;
+	} catch (InterruptedException e) {
+		return false;
+	} finally {
+		this.queueStats.recordProducerWait(System.nanoTime() - start);
 	}
-
-	this.units[this.availableIndex++] = newElement;
-	if (this.availableIndex >= this.size)
-		this.availableIndex = 0;
-	if (this.sleepCount <= -1)
-		notify(); // wake up writing thread to accept next unit - could be the last one - must avoid deadlock
 }
 
 public CompilationUnitDeclaration removeNextUnit() throws Error {
-	CompilationUnitDeclaration next = null;
-	boolean yield = false;
-	synchronized (this) {
-		next = this.units[this.currentIndex];
-		if (next == null || this.caughtException != null) {
-			do {
-				if (this.processingThread == null) {
-					if (this.caughtException != null) {
-						// rethrow the caught exception from the processingThread in the main compiler thread
-						if (this.caughtException instanceof Error)
-							throw (Error) this.caughtException;
-						throw (RuntimeException) this.caughtException;
-					}
-					return null;
-				}
-				//System.out.print('r');
-				//if (this.sleepCount > 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-				this.sleepCount = -1;
-				try {
-					wait(100);
-				} catch (InterruptedException ignore) {
-					// ignore
-				}
-				this.sleepCount = 0;
-				next = this.units[this.currentIndex];
-			} while (next == null);
+	Object next = this.units.poll();
+	if (next == null) {
+		long start = System.nanoTime();
+		try {
+			next = this.units.take(); // the processing thread always ends with the end marker
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AbortCompilation(true, null);
+		} finally {
+			this.queueStats.recordConsumerWait(System.nanoTime() - start);
 		}
-
-		this.units[this.currentIndex++] = null;
-		if (this.currentIndex >= this.size)
-			this.currentIndex = 0;
-		if (this.sleepCount >= 1 && ++this.sleepCount > 4) {
-			notify(); // wake up processing thread to add next unit but only after removing some elements first
-			yield = this.sleepCount > 8;
+	}
+	if (next == END_OF_UNITS) {
+		this.units.offer(END_OF_UNITS); // keep answering null to further requests
+		Throwable exception = this.caughtException;
+		if (exception != null) {
+			// rethrow the caught exception from the processingThread in the main compiler thread
+			if (exception instanceof Error)
+				throw (Error) exception;
+			throw (RuntimeException) exception;
 		}
+		return null;
 	}
-	if (yield)
-		Thread.yield();
-	return next;
+	return (CompilationUnitDeclaration) next;
 }
 
 @Override
 public void run() {
 	boolean noAnnotations = this.compiler.annotationProcessorManager == null;
-	while (this.processingThread != null) {
-		this.unitToProcess = null;
-		int index = -1;
-		boolean cleanup = noAnnotations || this.compiler.shouldCleanup(this.unitIndex);
-		try {
-			synchronized (this) {
-				if (this.processingThread == null) return;
-
-				this.unitToProcess = this.compiler.getUnitToProcess(this.unitIndex);
-				if (this.unitToProcess == null) {
-					this.processingThread = null;
-					return;
-				}
-				index = this.unitIndex++;
-				if (this.unitToProcess.compilationResult.hasBeenAccepted)
-					continue;
-			}
+	try {
+		while (this.processingThread != null) {
+			this.unitToProcess = null;
+			int index = -1;
+			boolean cleanup = noAnnotations || this.compiler.shouldCleanup(this.unitIndex);
+
+			this.unitToProcess = this.compiler.getUnitToProcess(this.unitIndex);
+			if (this.unitToProcess == null)
+				break;
+			index = this.unitIndex++;
+			if (this.unitToProcess.compilationResult.hasBeenAccepted)
+				continue;
 
 			try {
 				this.compiler.reportProgress(Messages.bind(Messages.compilation_processing, new String(this.unitToProcess.getFileName())));
@@ -149,29 +131,23 @@ public void run() {
 					this.unitToProcess.cleanUp();
 			}
 
-			addNextUnit(this.unitToProcess);
-		} catch (Error | RuntimeException e) {
-			synchronized (this) {
-				this.processingThread = null;
-				this.caughtException = e;
-			}
-			return;
+			if (!addNext(this.unitToProcess))
+				return;
 		}
+	} catch (Error | RuntimeException e) {
+		this.caughtException = e;
 	}
+	if (addNext(END_OF_UNITS))
+		this.processingThread = null;
 }
 
 public void shutdown() {
 	try {
-		Thread t = null;
-		synchronized (this) {
-			if (this.processingThread != null) {
-				t = this.processingThread;
-				this.processingThread = null;
-				notifyAll();
-			}
-		}
-		if (t != null)
+		Thread t = this.processingThread;
+		if (t != null) {
+			this.processingThread = null;
 			t.join(250); // do not wait forever
+		}
 	} catch (InterruptedException ignored) {
 		// ignore
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -11,28 +11,42 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *******************************************************************************/
-
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.QueueStats;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 
-public class ReadManager implements Runnable {
+/**
+ * Reads the contents of the units ahead of the compiler on background threads. The number of units
+ * read ahead adapts to the speed of the disk and of the compiler: it grows whenever the compiler has
+ * to wait for a unit, and it shrinks back, down to one unit per reading thread, while every unit read
+ * ahead is already available, so that the contents of units are not held in memory longer than needed.
+ */
+public class ReadManager {
 	ICompilationUnit[] units;
-	int nextFileToRead;
-	ICompilationUnit[] filesRead;
-	char[][] contentsRead;
-	int readyToReadPosition;
-	int nextAvailablePosition;
-	Thread[] readingThreads;
-	char[] readInProcessMarker = {};
-	int sleepingThreadCount;
-	private Throwable caughtException;
+	int nextFileToRead; // index of the oldest unit in the read ahead window
+	int nextFileToSubmit; // index of the first unit after the units being read ahead
+	int window; // number of units to read ahead, between minWindow and CACHE_SIZE
+	int minWindow;
+	Future<?>[] contentsRead; // read ahead window, indexed by unit index modulo CACHE_SIZE
+	ExecutorService readingThreads;
+	QueueStats stats;
 
 	static final int START_CUSHION = 5;
-	public static final int THRESHOLD = 10;
-	static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	public static final int THRESHOLD = Integer.getInteger("jdt.compiler.readThreshold", 10).intValue(); //$NON-NLS-1$
+	static final int CACHE_SIZE = Integer.getInteger("jdt.compiler.readCacheSize", 15).intValue(); // maximum window, do not waste memory by keeping too many files in memory //$NON-NLS-1$
 
 public ReadManager(ICompilationUnit[] files, int length) {
+	this(files, length, new QueueStats(CACHE_SIZE));
+}
+
+public ReadManager(ICompilationUnit[] files, int length, QueueStats stats) {
 	// start the background threads to read the file's contents
 	int threadCount = Runtime.getRuntime().availableProcessors() + 1;
 	if (threadCount < 2) {
@@ -41,144 +55,124 @@ public ReadManager(ICompilationUnit[] files, int length) {
 		threadCount = CACHE_SIZE;
 	}
 
+	this.stats = stats;
 	if (threadCount > 0) {
-		synchronized (this) {
-			this.units = new ICompilationUnit[length];
-			System.arraycopy(files, 0, this.units, 0, length);
-			this.nextFileToRead = START_CUSHION; // skip some files to reduce the number of times we have to wait
-			this.filesRead = new ICompilationUnit[CACHE_SIZE];
-			this.contentsRead = new char[CACHE_SIZE][];
-			this.readyToReadPosition = 0;
-			this.nextAvailablePosition = 0;
-			this.sleepingThreadCount = 0;
-			this.readingThreads = new Thread[threadCount];
-			for (int i = threadCount; --i >= 0;) {
-				this.readingThreads[i] = new Thread(this, "Compiler Source File Reader"); //$NON-NLS-1$
-				this.readingThreads[i].setDaemon(true);
-				this.readingThreads[i].start();
-			}
-		}
+		this.units = new ICompilationUnit[length];
+		System.arraycopy(files, 0, this.units, 0, length);
+		this.contentsRead = new Future<?>[CACHE_SIZE];
+		this.window = this.minWindow = threadCount; // keep every reading thread busy
+		this.readingThreads = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread thread = new Thread(r, "Compiler Source File Reader"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		startReadingAt(START_CUSHION); // skip some files to reduce the number of times we have to wait
+	}
+}
+
+private void startReadingAt(int index) {
+	this.nextFileToRead = this.nextFileToSubmit = index;
+	fillWindow();
+}
+
+private void fillWindow() {
+	for (int max = Math.min(this.nextFileToRead + this.window, this.units.length); this.nextFileToSubmit < max; this.nextFileToSubmit++)
+		readAhead(this.nextFileToSubmit);
+}
+
+private void readAhead(int index) {
+	ICompilationUnit unit = this.units[index];
+	this.contentsRead[index % CACHE_SIZE] = this.readingThreads.submit(unit::getContents);
+}
+
+private void cancelReadsBefore(int index) {
+	for (int i = this.nextFileToRead, max = Math.min(index, this.nextFileToSubmit); i < max; i++) {
+		Future<?> future = this.contentsRead[i % CACHE_SIZE];
+		if (future != null)
+			future.cancel(false);
+		this.contentsRead[i % CACHE_SIZE] = null;
 	}
 }
 
 public char[] getContents(ICompilationUnit unit) throws Error {
-	Thread[] rThreads = this.readingThreads;
-	if (rThreads == null || this.units.length == 0) {
-		if (this.caughtException != null) {
-			// rethrow the caught exception from the readingThreads in the main compiler thread
-			if (this.caughtException instanceof Error)
-				throw (Error) this.caughtException;
-			throw (RuntimeException) this.caughtException;
+	if (this.readingThreads == null)
+		return unit.getContents();
+
+	int unitIndex = this.nextFileToRead;
+	if (unitIndex >= this.units.length || this.units[unitIndex] != unit) {
+		// must make sure we're reading ahead of the unit
+		for (unitIndex = 0; unitIndex < this.units.length; unitIndex++)
+			if (this.units[unitIndex] == unit) break;
+		if (unitIndex < this.nextFileToRead) {
+			return unit.getContents(); // the cushion, or a unit that was asked for again
+		} else if (unitIndex == this.units.length) {
+			// attempting to read a unit that was not included in the initial files - should not happen
+			shutdown(); // stop looking for more
+			return unit.getContents();
+		} else if (unitIndex >= this.nextFileToSubmit) {
+			// start over
+			cancelReadsBefore(this.nextFileToSubmit);
+			startReadingAt(unitIndex + START_CUSHION);
+			return unit.getContents();
 		}
+		cancelReadsBefore(unitIndex); // skipped units are not needed anymore
+		this.nextFileToRead = unitIndex;
+	}
+
+	Future<?> future = this.contentsRead[unitIndex % CACHE_SIZE];
+	this.contentsRead[unitIndex % CACHE_SIZE] = null; // free spot for next file
+	this.nextFileToRead = unitIndex + 1;
+	if (future == null) {
+		fillWindow();
 		return unit.getContents();
 	}
+	int depth = 0;
+	for (Future<?> read : this.contentsRead)
+		if (read != null && read.isDone()) depth++;
+	this.stats.recordDepth(depth);
+	if (future.isDone()) {
+		if (depth >= this.window - 1 && this.window > this.minWindow)
+			this.window--; // the reading threads are ahead of the compiler
+		fillWindow();
+		return getDone(future);
+	}
+	this.window = Math.min(this.window * 2, CACHE_SIZE); // the compiler is ahead of the reading threads
+	fillWindow();
+	return waitFor(future);
+}
 
-	boolean yield = this.sleepingThreadCount == rThreads.length;
-	char[] result = null;
-	synchronized (this) {
-		if (unit == this.filesRead[this.readyToReadPosition]) {
-			result = this.contentsRead[this.readyToReadPosition];
-			while (result == this.readInProcessMarker || result == null) {
-				// let the readingThread know we're waiting
-				//System.out.print('|');
-				this.contentsRead[this.readyToReadPosition] = null;
-				try {
-					wait(250);
-				} catch (InterruptedException ignore) { // ignore
-				}
-				if (this.caughtException != null) {
-					// rethrow the caught exception from the readingThreads in the main compiler thread
-					if (this.caughtException instanceof Error)
-						throw (Error) this.caughtException;
-					throw (RuntimeException) this.caughtException;
-				}
-				result = this.contentsRead[this.readyToReadPosition];
-			}
-			// free spot for next file
-			this.filesRead[this.readyToReadPosition] = null;
-			this.contentsRead[this.readyToReadPosition] = null;
-			if (++this.readyToReadPosition >= this.contentsRead.length)
-				this.readyToReadPosition = 0;
-			if (this.sleepingThreadCount > 0) {
-				//System.out.print('+');
-				//System.out.print(this.nextFileToRead);
-				notify();
-			}
-		} else {
-			// must make sure we're reading ahead of the unit
-			int unitIndex = 0;
-			for (int l = this.units.length; unitIndex < l; unitIndex++)
-				if (this.units[unitIndex] == unit) break;
-			if (unitIndex == this.units.length) {
-				// attempting to read a unit that was not included in the initial files - should not happen
-				this.units = new ICompilationUnit[0]; // stop looking for more
-			} else if (unitIndex >= this.nextFileToRead) {
-				// start over
-				//System.out.println(unitIndex + " vs " + this.nextFileToRead);
-				this.nextFileToRead = unitIndex + START_CUSHION;
-				this.readyToReadPosition = 0;
-				this.nextAvailablePosition = 0;
-				this.filesRead = new ICompilationUnit[CACHE_SIZE];
-				this.contentsRead = new char[CACHE_SIZE][];
-				notifyAll();
-			}
-		}
+private char[] waitFor(Future<?> future) throws Error {
+	long start = System.nanoTime();
+	try {
+		return getDone(future);
+	} finally {
+		this.stats.recordConsumerWait(System.nanoTime() - start);
 	}
-	if (yield)
-		Thread.yield(); // ensure other threads get a chance
-	if (result != null)
-		return result;
-	//System.out.print('-');
-	return unit.getContents();
 }
 
-@Override
-public void run() {
+private char[] getDone(Future<?> future) throws Error {
 	try {
-		while (this.readingThreads != null && this.nextFileToRead < this.units.length) {
-			ICompilationUnit unit = null;
-			int position = -1;
-			synchronized (this) {
-				if (this.readingThreads == null) return;
-
-				while (this.filesRead[this.nextAvailablePosition] != null) {
-					this.sleepingThreadCount++;
-					try {
-						wait(250); // wait until a spot in contents is available
-					} catch (InterruptedException e) { // ignore
-					}
-					this.sleepingThreadCount--;
-					if (this.readingThreads == null) return;
-				}
-
-				if (this.nextFileToRead >= this.units.length) return;
-				unit = this.units[this.nextFileToRead++];
-				position = this.nextAvailablePosition;
-				if (++this.nextAvailablePosition >= this.contentsRead.length)
-					this.nextAvailablePosition = 0;
-				this.filesRead[position] = unit;
-				this.contentsRead[position] = this.readInProcessMarker; // mark the spot so we know its being read
-			}
-			char[] result = unit.getContents();
-			synchronized (this) {
-				if (this.filesRead[position] == unit) {
-					if (this.contentsRead[position] == null) // wake up main thread which is waiting for this file
-						notifyAll();
-					this.contentsRead[position] = result;
-				}
-			}
-		}
-	} catch (Error | RuntimeException e) {
-		synchronized (this) {
-			this.caughtException = e;
-			shutdown();
-		}
-		return;
+		return (char[]) future.get();
+	} catch (ExecutionException e) {
+		// rethrow the caught exception from the readingThreads in the main compiler thread
+		shutdown();
+		Throwable cause = e.getCause();
+		if (cause instanceof Error)
+			throw (Error) cause;
+		throw (RuntimeException) cause;
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new AbortCompilation(true, null);
 	}
 }
 
-public synchronized void shutdown() {
-	this.readingThreads = null; // mark the read manager as shutting down so that the reading threads stop
-	notifyAll();
+public void shutdown() {
+	ExecutorService threads = this.readingThreads;
+	if (threads == null) return;
+	this.readingThreads = null; // mark the read manager as shutting down so that no more files get read
+	for (Future<?> future : this.contentsRead)
+		if (future != null)
+			future.cancel(false); // reading a file is never interrupted, pending reads are simply dropped
+	threads.shutdown();
+}
 }
-}
\ No newline at end of file
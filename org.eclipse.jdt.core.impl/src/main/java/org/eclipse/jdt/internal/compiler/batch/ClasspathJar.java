@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,11 +16,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.batch;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Enumeration;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -41,6 +41,7 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
+import org.eclipse.jdt.internal.compiler.util.MappedZipFile;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -53,6 +54,9 @@ protected ZipFile annotationZipFile;
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
 protected List<String> annotationPaths;
+protected ClasspathJarCache cache;
+protected ZipFileCache sharedZipFiles; // non null if the zip file is shared with other compilations
+protected MappedZipFile mappedZipFile; // non null if the class files are read from a memory mapping of the jar
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
@@ -65,15 +69,13 @@ public ClasspathJar(File file, boolean closeZipFileAtEnd,
 public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporter problemReporter) {
 	// expected to be called once only - if multiple calls desired, consider
 	// using a cache
-	InputStream inputStream = null;
 	try {
 		initialize();
 		ArrayList<Classpath> result = new ArrayList<>();
-		ZipEntry manifest = this.zipFile.getEntry(TypeConstants.META_INF_MANIFEST_MF);
+		byte[] manifest = readEntry(TypeConstants.META_INF_MANIFEST_MF);
 		if (manifest != null) { // non-null implies regular file
-			inputStream = this.zipFile.getInputStream(manifest);
 			ManifestAnalyzer analyzer = new ManifestAnalyzer();
-			boolean success = analyzer.analyzeManifestContents(inputStream);
+			boolean success = analyzer.analyzeManifestContents(new ByteArrayInputStream(manifest));
 			List calledFileNames = analyzer.getCalledFileNames();
 			if (problemReporter != null) {
 				if (!success || analyzer.getClasspathSectionsCount() == 1 &&  calledFileNames == null) {
@@ -97,14 +99,6 @@ public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporte
 		// JRE 9 could throw an IAE if the path is incorrect. We are to ignore such
 		// linked jars
 		return null;
-	} finally {
-		if (inputStream != null) {
-			try {
-				inputStream.close();
-			} catch (IOException e) {
-				// best effort
-			}
-		}
 	}
 }
 @Override
@@ -117,7 +111,7 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader = readClassFile(qualifiedBinaryFileName);
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
@@ -154,11 +148,52 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 	}
 	return null;
 }
+private ClassFileReader readClassFile(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	if (this.cache == null && this.mappedZipFile == null)
+		return ClassFileReader.read(openZipFile(), qualifiedBinaryFileName);
+	byte[] classFileBytes = readEntry(qualifiedBinaryFileName);
+	return classFileBytes == null ? null : new ClassFileReader(classFileBytes, qualifiedBinaryFileName.toCharArray());
+}
+/**
+ * Answers the bytes of the given entry from the cache of the jar, or from the jar on a cache miss.
+ * Missing entries are cached as empty entries, so that looking them up again does not open the jar.
+ */
+private byte[] readEntry(String name) throws IOException {
+	if (this.cache == null)
+		return readZipEntry(name);
+	byte[] bytes = this.cache.getClassFileBytes(name);
+	if (bytes == null) {
+		bytes = readZipEntry(name);
+		this.cache.addClassFileBytes(name, bytes == null ? ClasspathJarCache.NO_ENTRY : bytes);
+	}
+	return bytes == null || bytes.length == 0 ? null : bytes;
+}
+private byte[] readZipEntry(String name) throws IOException {
+	open();
+	if (this.mappedZipFile != null)
+		return this.mappedZipFile.getBytes(name);
+	ZipEntry entry = this.zipFile.getEntry(name);
+	return entry == null ? null : Util.getZipEntryByteContent(entry, this.zipFile);
+}
 @Override
 public boolean hasAnnotationFileFor(String qualifiedTypeName) {
-	if (this.zipFile == null)
+	String name = qualifiedTypeName + ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX;
+	try {
+		open();
+	} catch (IOException e) {
 		return false;
-	return this.zipFile.getEntry(qualifiedTypeName+ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX) != null;
+	}
+	if (this.mappedZipFile != null)
+		return this.mappedZipFile.hasEntry(name);
+	return this.zipFile.getEntry(name) != null;
+}
+/**
+ * Answers the external annotations of the given type stored in the jar, or null if there are none.
+ * They are read like the class files, from the mapping of the jar when it is mapped.
+ */
+public ExternalAnnotationProvider getExternalAnnotationProvider(String qualifiedTypeName) throws IOException {
+	byte[] bytes = readZipEntry(qualifiedTypeName + ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX);
+	return bytes == null ? null : new ExternalAnnotationProvider(new ByteArrayInputStream(bytes), qualifiedTypeName);
 }
 @Override
 public char[][][] findTypeNames(final String qualifiedPackageName, String moduleName) {
@@ -166,9 +201,7 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 		return null; // most common case
 	final char[] packageArray = qualifiedPackageName.toCharArray();
 	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
-
+	nextEntry : for (String fileName : getEntryNames()) {
 		// add the package name & all of its parent packages
 		int last = fileName.lastIndexOf('/');
 		if (last > 0) {
@@ -197,9 +230,44 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 
 @Override
 public void initialize() throws IOException {
+	if (this.cache == null)
+		this.cache = ClasspathJarCache.forJar(this.file, getPath());
+	if (this.cache == null || !this.cache.isLoaded())
+		open(); // else the jar is only opened on a cache miss
+}
+private void open() throws IOException {
+	if (this.zipFile == null && this.mappedZipFile == null) {
+		this.sharedZipFiles = ZipFileCache.getShared();
+		this.mappedZipFile = this.sharedZipFiles != null ? this.sharedZipFiles.map(this.file) : MappedZipFile.open(this.file);
+		if (this.mappedZipFile == null)
+			openZipFile();
+	}
+}
+/**
+ * Opens the jar as a zip file, unless it is already opened. Subclasses reading the zip file directly
+ * open it from {@link #initialize()}, the class files of a plain jar are read from its mapping when it
+ * can be mapped.
+ */
+protected ZipFile openZipFile() throws IOException {
 	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+		this.sharedZipFiles = ZipFileCache.getShared();
+		this.zipFile = this.sharedZipFiles != null ? this.sharedZipFiles.open(this.file) : new ZipFile(this.file);
+	}
+	return this.zipFile;
+}
+/**
+ * Answers the names of the entries of the jar, from its mapping if it is mapped.
+ */
+protected Iterable<String> getEntryNames() {
+	try {
+		open();
+	} catch (IOException e) {
+		return Collections.emptyList(); // the jar was removed or damaged since it was cached
 	}
+	if (this.mappedZipFile != null)
+		return this.mappedZipFile.getEntryNames();
+	ZipFile zip = this.zipFile;
+	return () -> zip.stream().map(ZipEntry::getName).iterator();
 }
 void acceptModule(ClassFileReader reader) {
 	if (reader != null) {
@@ -235,20 +303,29 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 	if (this.packageCache != null)
 		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 
+	Set<String> cachedPackages = this.sharedZipFiles == null ? null : this.sharedZipFiles.getPackageNames(this.file);
+	if (cachedPackages == null && this.cache != null)
+		cachedPackages = this.cache.getPackageNames();
+	if (cachedPackages != null) {
+		this.packageCache = cachedPackages;
+		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	}
+
 	this.packageCache = new HashSet<>(41);
 	this.packageCache.add(Util.EMPTY_STRING);
 
-	for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
+	for (String fileName : getEntryNames())
 		addToPackageCache(fileName, false);
-	}
+	if (this.cache != null)
+		this.cache.setPackageNames(this.packageCache);
+	if (this.sharedZipFiles != null)
+		this.sharedZipFiles.setPackageNames(this.file, this.packageCache);
 	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 }
 @Override
 public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
 	qualifiedPackageName += '/';
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : getEntryNames()) {
 		if (fileName.startsWith(qualifiedPackageName) && fileName.length() > qualifiedPackageName.length()) {
 			String tail = fileName.substring(qualifiedPackageName.length());
 			if (tail.indexOf('/') != -1)
@@ -263,8 +340,7 @@ public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName
 @Override
 public char[][] listPackages() {
 	Set<String> packageNames = new HashSet<>();
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : getEntryNames()) {
 		int lastSlash = fileName.lastIndexOf('/');
 		if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
 			packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
@@ -275,15 +351,20 @@ public char[][] listPackages() {
 @Override
 public void reset() {
 	super.reset();
+	if (this.cache != null)
+		this.cache.save();
 	if (this.closeZipFileAtEnd) {
 		if (this.zipFile != null) {
-			try {
-				this.zipFile.close();
-			} catch(IOException e) {
-				// ignore
+			if (this.sharedZipFiles == null) {
+				try {
+					this.zipFile.close();
+				} catch(IOException e) {
+					// ignore
+				}
 			}
 			this.zipFile = null;
 		}
+		this.mappedZipFile = null;
 		if (this.annotationZipFile != null) {
 			try {
 				this.annotationZipFile.close();
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistent cache of the content of a jar file used by {@link ClasspathJar} across batch compilations.
+ * It remembers the packages of the jar and the uncompressed bytes of the entries that were read
+ * from it, or that were looked up but are missing, so that the next compilations can answer them from
+ * a memory mapped file instead of opening, scanning and inflating the jar.
+ * <p>
+ * The cache is opt-in: it is only used when the <code>jdt.compiler.binaryCache</code> system property
+ * names the directory in which cache files are stored. A cache file is only used as long as the path,
+ * the last modification time and the size of its jar are unchanged.
+ * <p>
+ * A cache file starts with a header identifying its jar, followed by batches of records. Each
+ * compilation which adds content appends one batch, under a file lock, so the content written by
+ * previous compilations is never rewritten. A batch starts with its length, so that a batch which was
+ * only partly written is ignored, and overwritten by the next one.
+ */
+public class ClasspathJarCache {
+
+	public static final String CACHE_DIRECTORY = System.getProperty("jdt.compiler.binaryCache"); //$NON-NLS-1$
+	/** Bytes cached for the entries which are missing from the jar. */
+	public static final byte[] NO_ENTRY = new byte[0];
+	// a mapped file cannot be truncated on Windows, where the cache files are read into the heap instead
+	private static final boolean MAP_CACHE_FILES = File.separatorChar != '\\';
+
+	private static final int MAGIC = 0x4A434348; // JCCH
+	private static final int VERSION = 2;
+	private static final byte PACKAGES = 1;
+	private static final byte ENTRY = 2;
+
+	private final String jarPath;
+	private final long lastModified;
+	private final long length;
+	private final File cacheFile;
+
+	private Set<String> packageNames;
+	private Map<String, int[]> classFiles; // name -> {offset, length} in the content
+	private ByteBuffer content; // null if there is no cache file for the current content of the jar
+	private int contentLength; // end of the last complete batch of the content
+	private Map<String, byte[]> addedClassFiles; // class files read from the jar since the cache was loaded
+	private boolean packagesChanged;
+
+/**
+ * Answers the cache of the given jar, or null if the cache is not enabled.
+ */
+public static ClasspathJarCache forJar(File jar, String jarPath) {
+	if (CACHE_DIRECTORY == null)
+		return null;
+	ClasspathJarCache cache = new ClasspathJarCache(jar, jarPath, new File(CACHE_DIRECTORY));
+	cache.load();
+	return cache;
+}
+
+private ClasspathJarCache(File jar, String jarPath, File directory) {
+	this.jarPath = jarPath;
+	this.lastModified = jar.lastModified();
+	this.length = jar.length();
+	this.cacheFile = new File(directory, jar.getName() + '-' + Integer.toHexString(jarPath.hashCode()) + ".cache"); //$NON-NLS-1$
+	this.addedClassFiles = new LinkedHashMap<>();
+}
+
+private void load() {
+	this.classFiles = new HashMap<>();
+	this.content = null;
+	if (!this.cacheFile.isFile())
+		return;
+	try (FileChannel channel = FileChannel.open(this.cacheFile.toPath(), StandardOpenOption.READ)) {
+		ByteBuffer buffer;
+		if (MAP_CACHE_FILES) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} else {
+			buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				// read the whole file
+			}
+			buffer.flip();
+		}
+		if (!readHeader(buffer))
+			return; // stale: the jar was changed since the cache was written
+		Map<String, int[]> entries = new HashMap<>();
+		Set<String> packages = null;
+		int end = buffer.position();
+		while (buffer.remaining() >= 4) {
+			int batchEnd = buffer.position() + 4 + buffer.getInt();
+			if (batchEnd < buffer.position() || batchEnd > buffer.limit())
+				break; // partly written
+			while (buffer.position() < batchEnd) {
+				switch (buffer.get()) {
+					case PACKAGES :
+						int packageCount = buffer.getInt();
+						packages = new HashSet<>(packageCount * 2);
+						for (int i = 0; i < packageCount; i++)
+							packages.add(readString(buffer));
+						break;
+					case ENTRY :
+						String name = readString(buffer);
+						int entryLength = buffer.getInt();
+						if (entryLength < 0 || entryLength > batchEnd - buffer.position())
+							throw new IllegalArgumentException();
+						entries.put(name, new int[] {buffer.position(), entryLength});
+						buffer.position(buffer.position() + entryLength);
+						break;
+					default :
+						throw new IllegalArgumentException();
+				}
+			}
+			end = batchEnd;
+		}
+		this.content = buffer;
+		this.contentLength = end;
+		this.classFiles = entries;
+		this.packageNames = packages;
+	} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+		// treat as if there was no cache, it gets rewritten at the end of the compilation
+		this.classFiles = new HashMap<>();
+		this.content = null;
+	}
+}
+
+private boolean readHeader(ByteBuffer buffer) {
+	return buffer.getInt() == MAGIC && buffer.getInt() == VERSION
+		&& this.jarPath.equals(readString(buffer)) && buffer.getLong() == this.lastModified && buffer.getLong() == this.length;
+}
+
+private static String readString(ByteBuffer buffer) {
+	int length = buffer.getInt();
+	if (length < 0 || length > buffer.remaining())
+		throw new IllegalArgumentException();
+	byte[] bytes = new byte[length];
+	buffer.get(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+
+private static void writeString(DataOutputStream out, String string) throws IOException {
+	byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+	out.writeInt(bytes.length);
+	out.write(bytes);
+}
+
+/**
+ * Answers whether the cache file was written for the current content of the jar.
+ */
+public synchronized boolean isLoaded() {
+	return this.content != null;
+}
+
+/**
+ * Answers the packages of the jar, or null if they are not known yet.
+ */
+public synchronized Set<String> getPackageNames() {
+	return this.packageNames;
+}
+
+public synchronized void setPackageNames(Set<String> packageNames) {
+	if (!packageNames.equals(this.packageNames)) {
+		this.packageNames = new HashSet<>(packageNames);
+		this.packagesChanged = true;
+	}
+}
+
+/**
+ * Answers the bytes of the given entry, {@link #NO_ENTRY} if it is missing from the jar, or null if it
+ * was never read from the jar.
+ */
+public synchronized byte[] getClassFileBytes(String qualifiedBinaryFileName) {
+	byte[] bytes = this.addedClassFiles.get(qualifiedBinaryFileName);
+	if (bytes != null)
+		return bytes;
+	int[] position = this.classFiles.get(qualifiedBinaryFileName);
+	if (position == null)
+		return null;
+	bytes = new byte[position[1]];
+	ByteBuffer source = this.content.duplicate();
+	source.position(position[0]);
+	source.get(bytes);
+	return bytes;
+}
+
+public synchronized void addClassFileBytes(String qualifiedBinaryFileName, byte[] bytes) {
+	this.addedClassFiles.put(qualifiedBinaryFileName, bytes);
+}
+
+/**
+ * Writes the content added since the cache was loaded. It is appended to the cache file as one batch
+ * when the file was written for the current content of the jar, otherwise the file is replaced
+ * atomically by a new one holding only the added content. The added content is then answered from the
+ * cache file, or read from the jar again if the file could not be written.
+ */
+public synchronized void save() {
+	if (this.addedClassFiles.isEmpty() && !this.packagesChanged)
+		return;
+	try {
+		if (this.content == null || !append(writeBatch(this.packagesChanged)))
+			replace(writeBatch(this.packageNames != null));
+		load();
+	} catch (IOException | SecurityException | OverlappingFileLockException e) {
+		// best effort, the cache is rebuilt by the next compilations
+	} finally {
+		this.addedClassFiles.clear();
+		this.packagesChanged = false;
+	}
+}
+
+private byte[] writeBatch(boolean withPackages) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	DataOutputStream out = new DataOutputStream(bytes);
+	out.writeInt(0); // length of the batch, patched below
+	if (withPackages) {
+		out.writeByte(PACKAGES);
+		out.writeInt(this.packageNames.size());
+		for (String packageName : this.packageNames)
+			writeString(out, packageName);
+	}
+	for (Map.Entry<String, byte[]> entry : this.addedClassFiles.entrySet()) {
+		out.writeByte(ENTRY);
+		writeString(out, entry.getKey());
+		out.writeInt(entry.getValue().length);
+		out.write(entry.getValue());
+	}
+	out.flush();
+	ByteBuffer batch = ByteBuffer.wrap(bytes.toByteArray());
+	batch.putInt(0, batch.capacity() - 4);
+	return batch.array();
+}
+
+/*
+ * Appends the batch after the last complete batch of the cache file, answers false if the file no
+ * longer holds the content of the jar.
+ */
+private boolean append(byte[] batch) throws IOException {
+	try (FileChannel channel = FileChannel.open(this.cacheFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+			FileLock lock = channel.lock()) {
+		long size = channel.size();
+		long end = this.contentLength;
+		if (size != end) {
+			// appended by another compilation since it was loaded, or ends with a partly written batch
+			ByteBuffer header = ByteBuffer.allocate(4);
+			while (end + 4 <= size) {
+				header.clear();
+				if (channel.read(header, end) != 4)
+					break;
+				long batchEnd = end + 4 + header.getInt(0);
+				if (batchEnd < end + 4 || batchEnd > size)
+					break;
+				end = batchEnd;
+			}
+			if (end < this.contentLength)
+				return false;
+			channel.truncate(end);
+		}
+		ByteBuffer source = ByteBuffer.wrap(batch);
+		while (source.hasRemaining())
+			channel.write(source, end + source.position());
+		return true;
+	}
+}
+
+private void replace(byte[] batch) throws IOException {
+	File directory = this.cacheFile.getParentFile();
+	directory.mkdirs();
+	File tempFile = File.createTempFile(this.cacheFile.getName(), ".tmp", directory); //$NON-NLS-1$
+	try {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			writeString(out, this.jarPath);
+			out.writeLong(this.lastModified);
+			out.writeLong(this.length);
+			out.write(batch);
+		}
+		Files.move(tempFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	} finally {
+		tempFile.delete(); // only exists if it could not be moved, e.g. while another compilation maps the file on Windows
+	}
+}
+}
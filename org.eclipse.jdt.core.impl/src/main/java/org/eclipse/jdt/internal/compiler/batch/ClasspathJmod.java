@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,6 +45,10 @@ public ClasspathJmod(File file, boolean closeZipFileAtEnd,
 	super(file, closeZipFileAtEnd, accessRuleSet, destinationPath);
 }
 
+@Override
+public void initialize() throws IOException {
+	openZipFile(); // entries are read from the zip file directly
+}
 @Override
 public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporter problemReporter) {
 	// don't do anything
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2018 IBM Corporation.
+ * Copyright (c) 2016, 2026 IBM Corporation.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -195,6 +195,16 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 //			return;
 //		this.module = mod;
 //	}
+	/**
+	 * Forgets the modules read from the given image, with or without a release option,
+	 * once the image was modified. Must not be called while a compilation is in progress.
+	 */
+	static void resetModules(File jrt) {
+		String path = jrt.getPath();
+		synchronized (ModulesCache) {
+			ModulesCache.keySet().removeIf(key -> key.equals(path) || key.startsWith(path + '|'));
+		}
+	}
 	public void loadModules() {
 		Map<String,IModule> cache = ModulesCache.get(this.file.getPath());
 
@@ -38,7 +38,7 @@ public class ClasspathMultiReleaseJar extends ClasspathJar {
 	}
 	@Override
 	public void initialize() throws IOException {
-		super.initialize();
+		openZipFile(); // entries are read from the zip file directly
 		URI t = this.file.toURI();
 		if (this.file.exists()) {
 			URI uri = URI.create("jar:file:" + t.getRawPath()); //$NON-NLS-1$
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Long running batch compiler, answering compilation requests from its standard input or from a
+ * local socket. The VM, the JIT compiled code, the opened jar files with their packages and the JDK
+ * images stay warm between requests; jar files and JDK images are reopened as soon as they change.
+ * <p>
+ * A request is a line holding the number <code>n</code> of command line arguments, followed by
+ * <code>n</code> lines holding one argument each, as they would be given to {@link Main}. The response
+ * is the output of the compiler, followed by the line
+ * <code>#end &lt;exit code&gt; &lt;elapsed ms&gt; &lt;reopened jars&gt; &lt;warm jars&gt;</code>.
+ * A request with no argument stops the daemon.
+ * <p>
+ * Usage: <code>CompilerDaemon [-port &lt;port&gt;]</code>. When a port is given, requests are read
+ * from the connections to this port on the loopback address, one connection at a time; the port
+ * <code>0</code> picks a free port, which is printed as <code>#port &lt;port&gt;</code>.
+ */
+public class CompilerDaemon {
+
+	public static final String END_OF_RESPONSE = "#end"; //$NON-NLS-1$
+	public static final String PORT = "#port"; //$NON-NLS-1$
+
+	private boolean stopped;
+	private int requestCount;
+
+public static void main(String[] args) throws IOException {
+	CompilerDaemon daemon = new CompilerDaemon();
+	ZipFileCache.enable();
+	try {
+		if (args.length == 2 && args[0].equals("-port")) { //$NON-NLS-1$
+			daemon.serve(Integer.parseInt(args[1]));
+		} else {
+			daemon.serve(
+				new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+				new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true));
+		}
+	} finally {
+		ZipFileCache.disable();
+	}
+}
+
+public void serve(int port) throws IOException {
+	try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+		System.out.println(PORT + ' ' + serverSocket.getLocalPort());
+		System.out.flush();
+		while (!this.stopped) {
+			try (Socket socket = serverSocket.accept()) {
+				serve(
+					new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)),
+					new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true));
+			} catch (IOException e) {
+				// the client went away, wait for the next one
+			}
+		}
+	}
+}
+
+/**
+ * Answers the requests read from the given reader until it is closed or a stop request is read.
+ */
+public void serve(BufferedReader in, PrintWriter out) throws IOException {
+	String line;
+	while (!this.stopped && (line = in.readLine()) != null) {
+		if (line.trim().isEmpty())
+			continue;
+		int count;
+		try {
+			count = Integer.parseInt(line.trim());
+		} catch (NumberFormatException e) {
+			out.println("invalid request, expecting the number of arguments: " + line); //$NON-NLS-1$
+			out.println(END_OF_RESPONSE + " -1 0 0 0"); //$NON-NLS-1$
+			continue;
+		}
+		if (count <= 0) {
+			this.stopped = true;
+			return;
+		}
+		String[] arguments = new String[count];
+		for (int i = 0; i < count; i++) {
+			arguments[i] = in.readLine();
+			if (arguments[i] == null)
+				return;
+		}
+		compile(arguments, out);
+	}
+}
+
+/**
+ * Runs one compilation with the given command line arguments and writes its output and timing to the given writer.
+ *
+ * @return whether the compilation succeeded
+ */
+public boolean compile(String[] arguments, PrintWriter out) {
+	long start = System.nanoTime();
+	this.requestCount++;
+	// nothing is compiling now, drop whatever changed since the last request
+	int reopened = 0;
+	ZipFileCache zipFiles = ZipFileCache.getShared();
+	if (zipFiles != null)
+		reopened = zipFiles.closeStale();
+	FileSystem.resetModifiedJrtClasspaths();
+
+	boolean success;
+	try {
+		success = new Main(out, out, false /* systemExit */, null /* options */, null /* progress */).compile(arguments);
+	} catch (RuntimeException e) {
+		e.printStackTrace(out);
+		success = false;
+	}
+	long elapsed = (System.nanoTime() - start) / 1000000;
+	out.println(END_OF_RESPONSE + ' ' + (success ? 0 : 1) + ' ' + elapsed + ' ' + reopened + ' ' + (zipFiles == null ? 0 : zipFiles.size()));
+	out.flush();
+	return success;
+}
+
+public int getRequestCount() {
+	return this.requestCount;
+}
+}
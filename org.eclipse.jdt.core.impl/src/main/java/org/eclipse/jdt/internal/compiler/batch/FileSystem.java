@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -38,6 +39,7 @@ import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
+import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.env.IModulePathEntry;
 import org.eclipse.jdt.internal.compiler.env.IModule;
@@ -165,6 +167,7 @@ public class FileSystem implements IModuleAwareNameEnvironment, SuffixConstants
 	Set<String> knownFileNames;
 	protected boolean annotationsFromClasspath; // should annotation files be read from the classpath (vs. explicit separate path)?
 	private static HashMap<File, Classpath> JRT_CLASSPATH_CACHE = null;
+	private static final HashMap<File, Long> JRT_CLASSPATH_TIMESTAMPS = new HashMap<>(); // last modification of the image of the cached entries, also guards the cache
 	protected Map<String,Classpath> moduleLocations = new HashMap<>();
 
 	/** Tasks resulting from --add-reads or --add-exports command line options. */
@@ -309,19 +312,22 @@ public static Classpath getClasspath(String classpathName, String encoding,
 			} else if (destinationPath == null) {
 				// class file only mode
 				if (classpathName.endsWith(JRTUtil.JRT_FS_JAR)) {
-					if (JRT_CLASSPATH_CACHE == null) {
-						JRT_CLASSPATH_CACHE = new HashMap<>();
-					} else {
-						result = JRT_CLASSPATH_CACHE.get(file);
-					}
-					if (result == null) {
-						result = new ClasspathJrt(file, true, accessRuleSet, null);
-						try {
-							result.initialize();
-						} catch (IOException e) {
-							// Broken entry, but let clients have it anyway.
+					synchronized (JRT_CLASSPATH_TIMESTAMPS) {
+						if (JRT_CLASSPATH_CACHE == null) {
+							JRT_CLASSPATH_CACHE = new HashMap<>();
+						} else {
+							result = JRT_CLASSPATH_CACHE.get(file);
+						}
+						if (result == null) {
+							result = new ClasspathJrt(file, true, accessRuleSet, null);
+							try {
+								result.initialize();
+							} catch (IOException e) {
+								// Broken entry, but let clients have it anyway.
+							}
+							JRT_CLASSPATH_CACHE.put(file, result);
+							JRT_CLASSPATH_TIMESTAMPS.put(file, Long.valueOf(jrtImageTimestamp(file)));
 						}
-						JRT_CLASSPATH_CACHE.put(file, result);
 					}
 				} else {
 					result =
@@ -337,6 +343,36 @@ public static Classpath getClasspath(String classpathName, String encoding,
 	}
 	return result;
 }
+private static long jrtImageTimestamp(File jrtFsJar) {
+	File libDirectory = jrtFsJar.getParentFile();
+	return libDirectory == null ? 0 : new File(libDirectory, "modules").lastModified() + new File(libDirectory, "ct.sym").lastModified(); //$NON-NLS-1$ //$NON-NLS-2$
+}
+/**
+ * Forgets the cached classpath entries of the JDK images which were modified since they were cached,
+ * together with the images and ct.sym files read by {@link JRTUtil}. Only used by long running compilers,
+ * must not be called while a compilation is in progress.
+ *
+ * @return whether some JDK image was modified
+ */
+public static boolean resetModifiedJrtClasspaths() {
+	boolean modified = false;
+	synchronized (JRT_CLASSPATH_TIMESTAMPS) {
+		if (JRT_CLASSPATH_CACHE == null)
+			return false;
+		for (Iterator<Map.Entry<File, Long>> iterator = JRT_CLASSPATH_TIMESTAMPS.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<File, Long> entry = iterator.next();
+			if (jrtImageTimestamp(entry.getKey()) != entry.getValue().longValue()) {
+				JRT_CLASSPATH_CACHE.remove(entry.getKey());
+				ClasspathJrt.resetModules(entry.getKey());
+				iterator.remove();
+				modified = true;
+			}
+		}
+	}
+	if (modified)
+		JRTUtil.resetCaches();
+	return modified;
+}
 private void initializeKnownFileNames(String[] initialFileNames) {
 	if (initialFileNames == null) {
 		this.knownFileNames = new HashSet<>(0);
@@ -416,20 +452,27 @@ private NameEnvironmentAnswer findClass(String qualifiedTypeName, char[] typeNam
 		for (Classpath classpathEntry : this.classpaths) {
 			if (classpathEntry.hasAnnotationFileFor(qualifiedTypeName)) {
 				// in case of 'this.annotationsFromClasspath' we indeed search for .eea entries inside the main zipFile of the entry:
-				ZipFile zip = classpathEntry instanceof ClasspathJar ? ((ClasspathJar) classpathEntry).zipFile : null;
-				boolean shouldClose = false; // don't close classpathEntry.zipFile, which we don't own
-				try {
-					if (zip == null) {
-						zip = ExternalAnnotationDecorator.getAnnotationZipFile(classpathEntry.getPath(), null);
-						shouldClose = true;
+				if (classpathEntry instanceof ClasspathJar) {
+					try {
+						// read like its class files, the jar may be mapped or cached instead of opened
+						ExternalAnnotationProvider provider = ((ClasspathJar) classpathEntry).getExternalAnnotationProvider(qualifiedTypeName);
+						if (provider != null)
+							answer.setBinaryType(new ExternalAnnotationDecorator(answer.getBinaryType(), provider));
+						return answer;
+					} catch (IOException e) {
+						continue; // ignore broken entry, keep searching
 					}
+				}
+				ZipFile zip = null;
+				try {
+					zip = ExternalAnnotationDecorator.getAnnotationZipFile(classpathEntry.getPath(), null);
 					answer.setBinaryType(ExternalAnnotationDecorator.create(answer.getBinaryType(), classpathEntry.getPath(),
 							qualifiedTypeName, zip));
 					return answer;
 				} catch (IOException e) {
 					// ignore broken entry, keep searching
 				} finally {
-					if (shouldClose && zip != null)
+					if (zip != null)
 						try {
 							zip.close();
 						} catch (IOException e) { /* nothing */ }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -100,8 +100,11 @@ import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.IModule.IPackageExport;
 import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdateKind;
+import org.eclipse.jdt.internal.compiler.impl.CompilationProfile;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.impl.QueueStats;
+import org.eclipse.jdt.internal.compiler.lookup.InferenceBudget;
 import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.PackageBinding;
@@ -705,6 +708,15 @@ public class Main implements ProblemSeverities, SuffixConstants {
 			this.printlnErr(this.main.bind("configure.incorrectVMVersionforAPT")); //$NON-NLS-1$
 		}
 
+		public void logProfileNotWritten(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.profileNotWritten", fileName, e.getMessage())); //$NON-NLS-1$
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.profileNotWritten", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
 		/**
 		 *
 		 */
@@ -1037,6 +1049,54 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf((int) (compilerStats.generateTime * 1000.0 / time) / 10.0),
 							}));
+				if (compilerStats.unitCount != 0) {
+					printlnOut(
+							this.main.bind("compile.stageThroughput", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.unitCount),
+									String.valueOf(compilerStats.unitsPerSecond(compilerStats.parseTime)),
+									String.valueOf(compilerStats.unitsPerSecond(compilerStats.resolveTime)),
+									String.valueOf(compilerStats.unitsPerSecond(compilerStats.analyzeTime)),
+									String.valueOf(compilerStats.unitsPerSecond(compilerStats.generateTime)),
+								}));
+				}
+				if (compilerStats.readQueue != null)
+					logQueueStats("read", compilerStats.readQueue); //$NON-NLS-1$
+				if (compilerStats.processedQueue != null)
+					logQueueStats("processed", compilerStats.processedQueue); //$NON-NLS-1$
+			}
+		}
+
+		private void logQueueStats(String queueName, QueueStats queueStats) {
+			printlnOut(
+					this.main.bind("compile.queueStats", //$NON-NLS-1$
+						new String[] {
+							queueName,
+							String.valueOf(queueStats.capacity),
+							String.valueOf(queueStats.maxDepth),
+							String.valueOf(queueStats.averageDepth()),
+							String.valueOf(queueStats.producerWaitCount),
+							String.valueOf(queueStats.producerWaitTime / 1000000),
+							QueueStats.toString(queueStats.producerWaits),
+							String.valueOf(queueStats.consumerWaitCount),
+							String.valueOf(queueStats.consumerWaitTime / 1000000),
+							QueueStats.toString(queueStats.consumerWaits),
+						}));
+		}
+
+		public void logInferenceReport(List<InferenceBudget.Site> sites) {
+			printlnOut(this.main.bind("compile.inferenceReport")); //$NON-NLS-1$
+			for (InferenceBudget.Site site : sites) {
+				printlnOut(
+						this.main.bind("compile.inferenceSite", //$NON-NLS-1$
+							new String[] {
+								site.fileName,
+								String.valueOf(site.line),
+								site.invocation,
+								String.valueOf(site.steps),
+								String.valueOf(site.time / 1000000),
+								String.valueOf(site.attempts),
+							}));
 			}
 		}
 
@@ -1220,6 +1280,9 @@ public class Main implements ProblemSeverities, SuffixConstants {
 				compilerStats.endTime = System.currentTimeMillis(); // also include batch output times
 				logTiming(compilerStats);
 			}
+			if (this.main.inferenceReportSize > 0) {
+				logInferenceReport(this.main.batchCompiler.lookupEnvironment.inferenceBudget.getMostExpensiveSites(this.main.inferenceReportSize));
+			}
 			if (this.main.globalProblemsCount > 0) {
 				logProblemsSummary(this.main.globalProblemsCount, this.main.globalErrorsCount, this.main.globalWarningsCount,
 						this.main.globalInfoCount, this.main.globalTasksCount);
@@ -1432,6 +1495,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public static final int TIMING_DETAILED = 2;
 
 	public int timing = TIMING_DISABLED;
+	public int inferenceReportSize; // number of inference sites to report, 0 if not requested
+	public String profileFile; // file receiving the per unit and per phase profile, null if not requested
 	public CompilerStats[] compilerStats;
 	public boolean verbose = false;
 	private String[] expandedCommandLine;
@@ -2251,6 +2316,45 @@ public void configure(String[] argv) {
 					this.timing = TIMING_ENABLED|TIMING_DETAILED;
 					continue;
 				}
+				if (currentArg.equals("-inferenceReport")) { //$NON-NLS-1$
+					mode = DEFAULT;
+					this.inferenceReportSize = 10;
+					continue;
+				}
+				if (currentArg.startsWith("-inferenceReport:")) { //$NON-NLS-1$
+					mode = DEFAULT;
+					try {
+						this.inferenceReportSize = Integer.parseInt(currentArg.substring("-inferenceReport:".length())); //$NON-NLS-1$
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException(this.bind("configure.inferenceReport", currentArg), e); //$NON-NLS-1$
+					}
+					if (this.inferenceReportSize <= 0)
+						throw new IllegalArgumentException(this.bind("configure.inferenceReport", currentArg)); //$NON-NLS-1$
+					continue;
+				}
+				if (currentArg.startsWith("-profile:")) { //$NON-NLS-1$
+					mode = DEFAULT;
+					this.profileFile = currentArg.substring("-profile:".length()); //$NON-NLS-1$
+					if (this.profileFile.isEmpty())
+						throw new IllegalArgumentException(this.bind("configure.profile", currentArg)); //$NON-NLS-1$
+					continue;
+				}
+				if (currentArg.startsWith("-inferenceBudget:")) { //$NON-NLS-1$
+					mode = DEFAULT;
+					String budget = currentArg.substring("-inferenceBudget:".length()); //$NON-NLS-1$
+					int comma = budget.indexOf(',');
+					String steps = comma == -1 ? budget : budget.substring(0, comma);
+					String millis = comma == -1 ? "0" : budget.substring(comma + 1); //$NON-NLS-1$
+					try {
+						if (Integer.parseInt(steps) < 0 || Integer.parseInt(millis) < 0)
+							throw new IllegalArgumentException(this.bind("configure.inferenceBudget", currentArg)); //$NON-NLS-1$
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException(this.bind("configure.inferenceBudget", currentArg), e); //$NON-NLS-1$
+					}
+					this.options.put(CompilerOptions.OPTION_InferenceStepBudget, steps);
+					this.options.put(CompilerOptions.OPTION_InferenceTimeBudget, millis);
+					continue;
+				}
 				if (currentArg.equals("-version") //$NON-NLS-1$
 						|| currentArg.equals("-v")) { //$NON-NLS-1$
 					this.logger.logVersion(true);
@@ -4770,6 +4874,11 @@ public void performCompilation() {
 		// temporary code to allow the compiler to revert to a single thread
 		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		this.batchCompiler.parserThreadCount = Integer.getInteger("jdt.compiler.parserThreads", 1).intValue(); //$NON-NLS-1$
+		if (this.inferenceReportSize > 0)
+			this.batchCompiler.lookupEnvironment.inferenceBudget.recordSites();
+		if (this.profileFile != null)
+			this.batchCompiler.profile = new CompilationProfile();
 
 		if (this.compilerOptions.complianceLevel >= ClassFileConstants.JDK1_6
 				&& this.compilerOptions.processAnnotations) {
@@ -4804,6 +4913,13 @@ public void performCompilation() {
 		if (this.compilerStats != null) {
 			this.compilerStats[this.currentRepetition] = this.batchCompiler.stats;
 		}
+		if (this.batchCompiler.profile != null) {
+			try {
+				this.batchCompiler.profile.write(new File(this.profileFile));
+			} catch (IOException e) {
+				this.logger.logProfileNotWritten(this.profileFile, e);
+			}
+		}
 		this.logger.printStats();
 	}
 	finally {
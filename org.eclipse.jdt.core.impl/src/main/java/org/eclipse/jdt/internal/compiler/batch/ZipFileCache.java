@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipFile;
+
+import org.eclipse.jdt.internal.compiler.util.MappedZipFile;
+
+/**
+ * Zip files shared by the {@link ClasspathJar}s of consecutive compilations in the same VM, together
+ * with their mappings and the packages they contain. It is only enabled by long running compilers such
+ * as the {@link CompilerDaemon}; a shared zip file is reopened as soon as its file is modified. The
+ * replaced zip file may still be read by the current compilation, it is only closed by {@link #closeStale()}.
+ */
+public class ZipFileCache {
+
+	private static ZipFileCache shared;
+
+	private final Map<String, Entry> entries = new HashMap<>();
+	private final List<Entry> replacedEntries = new ArrayList<>(); // closed between compilations
+
+	static class Entry {
+		ZipFile zipFile;
+		MappedZipFile mappedZipFile;
+		boolean mapped; // whether mapping the zip file was tried
+		long lastModified;
+		long length;
+		Set<String> packageNames;
+
+		Entry(File file) {
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		boolean isStale(File file) {
+			return file.lastModified() != this.lastModified || file.length() != this.length;
+		}
+
+		void close() {
+			this.mappedZipFile = null; // unmapped once collected
+			if (this.zipFile == null)
+				return;
+			try {
+				this.zipFile.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+/**
+ * Answers the shared cache, or null if zip files are not shared.
+ */
+public static synchronized ZipFileCache getShared() {
+	return shared;
+}
+
+public static synchronized void enable() {
+	if (shared == null)
+		shared = new ZipFileCache();
+}
+
+public static synchronized void disable() {
+	if (shared != null) {
+		shared.closeAll();
+		shared = null;
+	}
+}
+
+public synchronized ZipFile open(File file) throws IOException {
+	Entry entry = getEntry(file);
+	if (entry.zipFile == null)
+		entry.zipFile = new ZipFile(file);
+	return entry.zipFile;
+}
+
+/**
+ * Answers the shared mapping of the given zip file, or null if it cannot be mapped.
+ */
+public synchronized MappedZipFile map(File file) {
+	Entry entry = getEntry(file);
+	if (!entry.mapped) {
+		entry.mappedZipFile = MappedZipFile.open(file);
+		entry.mapped = true;
+	}
+	return entry.mappedZipFile;
+}
+
+private Entry getEntry(File file) {
+	String key = file.getAbsolutePath();
+	Entry entry = this.entries.get(key);
+	if (entry == null || entry.isStale(file)) {
+		if (entry != null)
+			this.replacedEntries.add(entry); // other classpath entries of the compilation may still read it
+		entry = new Entry(file);
+		this.entries.put(key, entry);
+	}
+	return entry;
+}
+
+/**
+ * Answers the packages of the given zip file, or null if they are not known yet.
+ */
+public synchronized Set<String> getPackageNames(File file) {
+	Entry entry = this.entries.get(file.getAbsolutePath());
+	return entry == null ? null : entry.packageNames;
+}
+
+public synchronized void setPackageNames(File file, Set<String> packageNames) {
+	Entry entry = this.entries.get(file.getAbsolutePath());
+	if (entry != null)
+		entry.packageNames = packageNames;
+}
+
+/**
+ * Closes the zip files which were modified or deleted since they were opened.
+ * Must not be called while a compilation is using the shared zip files.
+ *
+ * @return the number of zip files that were closed
+ */
+public synchronized int closeStale() {
+	int count = this.replacedEntries.size();
+	for (Entry entry : this.replacedEntries)
+		entry.close();
+	this.replacedEntries.clear();
+	for (Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator(); iterator.hasNext();) {
+		Map.Entry<String, Entry> next = iterator.next();
+		if (next.getValue().isStale(new File(next.getKey()))) {
+			next.getValue().close();
+			iterator.remove();
+			count++;
+		}
+	}
+	return count;
+}
+
+public synchronized int size() {
+	return this.entries.size();
+}
+
+public synchronized void closeAll() {
+	for (Entry entry : this.entries.values())
+		entry.close();
+	this.entries.clear();
+	for (Entry entry : this.replacedEntries)
+		entry.close();
+	this.replacedEntries.clear();
+}
+}
@@ -29,7 +29,7 @@ public static MethodInfo createAnnotationMethod(byte[] classFileBytes, int[] off
 	for (int i = 0; i < attributesCount; i++) {
 		// check the name of each attribute
 		int utf8Offset = methodInfo.constantPoolOffsets[methodInfo.u2At(readOffset)] - methodInfo.structOffset;
-		char[] attributeName = methodInfo.utf8At(utf8Offset + 3, methodInfo.u2At(utf8Offset + 1));
+		char[] attributeName = methodInfo.attributeNameAt(utf8Offset);
 		if (attributeName.length > 0) {
 			switch(attributeName[0]) {
 				case 'A':
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,7 +58,8 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private int constantPoolCount;
 	private AnnotationInfo[] annotations;
 	private TypeAnnotationInfo[] typeAnnotations;
-	private FieldInfo[] fields;
+	private volatile FieldInfo[] fields; // decoded on demand from fieldsOffset
+	private int fieldsOffset;
 	private ModuleInfo moduleDeclaration;
 	public char[] moduleName;
 	private int fieldsCount;
@@ -70,7 +71,8 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private int interfacesCount;
 	private char[][] permittedSubtypesNames;
 	private int permittedSubtypesCount;
-	private MethodInfo[] methods;
+	private volatile MethodInfo[] methods; // decoded on demand from methodsOffset
+	private int methodsOffset;
 	private int methodsCount;
 	private char[] signature;
 	private char[] sourceName;
@@ -321,31 +323,17 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 				readOffset += 2;
 			}
 		}
-		// Read the fields, use exception handlers to catch bad format
+		// Index the fields and methods, they are only decoded when first asked for
 		this.fieldsCount = u2At(readOffset);
 		readOffset += 2;
-		if (this.fieldsCount != 0) {
-			FieldInfo field;
-			this.fields = new FieldInfo[this.fieldsCount];
-			for (int i = 0; i < this.fieldsCount; i++) {
-				field = FieldInfo.createField(this.reference, this.constantPoolOffsets, readOffset, this.version);
-				this.fields[i] = field;
-				readOffset += field.sizeInBytes();
-			}
-		}
-		// Read the methods
+		this.fieldsOffset = readOffset;
+		for (int i = 0; i < this.fieldsCount; i++)
+			readOffset = skipMember(readOffset);
 		this.methodsCount = u2At(readOffset);
 		readOffset += 2;
-		if (this.methodsCount != 0) {
-			this.methods = new MethodInfo[this.methodsCount];
-			boolean isAnnotationType = (this.accessFlags & ClassFileConstants.AccAnnotation) != 0;
-			for (int i = 0; i < this.methodsCount; i++) {
-				this.methods[i] = isAnnotationType
-					? AnnotationMethodInfo.createAnnotationMethod(this.reference, this.constantPoolOffsets, readOffset, this.version)
-					: MethodInfo.createMethod(this.reference, this.constantPoolOffsets, readOffset, this.version);
-				readOffset += this.methods[i].sizeInBytes();
-			}
-		}
+		this.methodsOffset = readOffset;
+		for (int i = 0; i < this.methodsCount; i++)
+			readOffset = skipMember(readOffset);
 
 		// Read the attributes
 		int attributesCount = u2At(readOffset);
@@ -353,7 +341,7 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 
 		for (int i = 0; i < attributesCount; i++) {
 			int utf8Offset = this.constantPoolOffsets[u2At(readOffset)];
-			char[] attributeName = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+			char[] attributeName = attributeNameAt(utf8Offset);
 			if (attributeName.length == 0) {
 				readOffset += 6 + u4At(readOffset + 2);
 				continue;
@@ -511,6 +499,203 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 	}
 }
 
+/**
+ * Answers the offset following the field_info or method_info structure at the given offset, after checking
+ * the attributes which are read when the member is decoded, so that a malformed member fails here, as if
+ * the class file was missing, rather than when the members are asked for.
+ */
+private int skipMember(int offset) throws ClassFormatException {
+	int attributesCount = u2At(offset + 6);
+	int readOffset = offset + 8;
+	for (int i = 0; i < attributesCount; i++) {
+		char[] attributeName = attributeNameAt(this.constantPoolOffsets[u2At(readOffset)]);
+		if (attributeName.length > 0) {
+			switch (attributeName[0]) {
+				case 'S' :
+					if (CharOperation.equals(AttributeNamesConstants.SignatureName, attributeName)
+							&& u2At(readOffset + 6) >= this.constantPoolCount)
+						throw new ClassFormatException(ClassFormatException.ErrBadConstantPoolIndex);
+					break;
+				case 'A' :
+					if (CharOperation.equals(AttributeNamesConstants.AnnotationDefaultName, attributeName))
+						checkAttributeEnd(checkElementValue(readOffset + 6), readOffset);
+					break;
+				case 'M' :
+					if (CharOperation.equals(AttributeNamesConstants.MethodParametersName, attributeName)) {
+						int parametersCount = u1At(readOffset + 6);
+						for (int j = 0; j < parametersCount; j++) {
+							int nameIndex = u2At(readOffset + 7 + j * 4);
+							if (nameIndex != 0) // unnamed parameter
+								checkUtf8Index(nameIndex);
+						}
+						checkAttributeEnd(readOffset + 7 + parametersCount * 4, readOffset);
+					}
+					break;
+				case 'R' :
+					if (CharOperation.equals(AttributeNamesConstants.RuntimeVisibleAnnotationsName, attributeName)
+							|| CharOperation.equals(AttributeNamesConstants.RuntimeInvisibleAnnotationsName, attributeName)) {
+						checkAttributeEnd(checkAnnotations(readOffset + 6), readOffset);
+					} else if (CharOperation.equals(AttributeNamesConstants.RuntimeVisibleParameterAnnotationsName, attributeName)
+							|| CharOperation.equals(AttributeNamesConstants.RuntimeInvisibleParameterAnnotationsName, attributeName)) {
+						int parametersCount = u1At(readOffset + 6);
+						int end = readOffset + 7;
+						for (int j = 0; j < parametersCount; j++)
+							end = checkAnnotations(end);
+						checkAttributeEnd(end, readOffset);
+					} else if (CharOperation.equals(AttributeNamesConstants.RuntimeVisibleTypeAnnotationsName, attributeName)
+							|| CharOperation.equals(AttributeNamesConstants.RuntimeInvisibleTypeAnnotationsName, attributeName)) {
+						int annotationsCount = u2At(readOffset + 6);
+						int end = readOffset + 8;
+						for (int j = 0; j < annotationsCount; j++)
+							end = checkTypeAnnotation(end);
+						checkAttributeEnd(end, readOffset);
+					}
+					break;
+			}
+		}
+		readOffset += 6 + u4At(readOffset + 2);
+	}
+	return readOffset;
+}
+
+/*
+ * The following methods check the structures read by AnnotationInfo, TypeAnnotationInfo and MethodInfo
+ * when a member is decoded, and answer the offset following the structure at the given offset.
+ */
+private void checkAttributeEnd(int end, int attributeOffset) throws ClassFormatException {
+	if (end > attributeOffset + 6 + u4At(attributeOffset + 2))
+		throw new ClassFormatException(ClassFormatException.ErrMalformedAttribute);
+}
+
+private void checkUtf8Index(int index) throws ClassFormatException {
+	if (index == 0 || index >= this.constantPoolCount || u1At(this.constantPoolOffsets[index]) != ClassFileConstants.Utf8Tag)
+		throw new ClassFormatException(ClassFormatException.ErrBadConstantPoolIndex);
+}
+
+private void checkConstantIndex(int index) throws ClassFormatException {
+	if (index == 0 || index >= this.constantPoolCount || this.constantPoolOffsets[index] == 0)
+		throw new ClassFormatException(ClassFormatException.ErrBadConstantPoolIndex);
+}
+
+private int checkAnnotations(int offset) throws ClassFormatException {
+	int annotationsCount = u2At(offset);
+	offset += 2;
+	for (int i = 0; i < annotationsCount; i++)
+		offset = checkAnnotation(offset);
+	return offset;
+}
+
+private int checkAnnotation(int offset) throws ClassFormatException {
+	checkUtf8Index(u2At(offset)); // type_index
+	int pairsCount = u2At(offset + 2);
+	offset += 4;
+	for (int i = 0; i < pairsCount; i++) {
+		checkUtf8Index(u2At(offset)); // element_name_index
+		offset = checkElementValue(offset + 2);
+	}
+	return offset;
+}
+
+private int checkElementValue(int offset) throws ClassFormatException {
+	switch (u1At(offset)) {
+		case 'B' :
+		case 'C' :
+		case 'D' :
+		case 'F' :
+		case 'I' :
+		case 'J' :
+		case 'S' :
+		case 'Z' :
+			checkConstantIndex(u2At(offset + 1));
+			return offset + 3;
+		case 's' :
+		case 'c' :
+			checkUtf8Index(u2At(offset + 1));
+			return offset + 3;
+		case 'e' :
+			checkUtf8Index(u2At(offset + 1));
+			checkUtf8Index(u2At(offset + 3));
+			return offset + 5;
+		case '@' :
+			return checkAnnotation(offset + 1);
+		case '[' :
+			int valuesCount = u2At(offset + 1);
+			offset += 3;
+			for (int i = 0; i < valuesCount; i++)
+				offset = checkElementValue(offset);
+			return offset;
+		default :
+			throw new ClassFormatException(ClassFormatException.ErrMalformedAttribute);
+	}
+}
+
+private int checkTypeAnnotation(int offset) throws ClassFormatException {
+	// only the targets of fields and methods are decoded, see TypeAnnotationInfo
+	switch (u1At(offset)) {
+		case AnnotationTargetTypeConstants.FIELD :
+		case AnnotationTargetTypeConstants.METHOD_RETURN :
+		case AnnotationTargetTypeConstants.METHOD_RECEIVER :
+			offset += 1;
+			break;
+		case AnnotationTargetTypeConstants.CLASS_TYPE_PARAMETER :
+		case AnnotationTargetTypeConstants.METHOD_TYPE_PARAMETER :
+		case AnnotationTargetTypeConstants.METHOD_FORMAL_PARAMETER :
+			offset += 2;
+			break;
+		case AnnotationTargetTypeConstants.CLASS_EXTENDS :
+		case AnnotationTargetTypeConstants.CLASS_TYPE_PARAMETER_BOUND :
+		case AnnotationTargetTypeConstants.METHOD_TYPE_PARAMETER_BOUND :
+		case AnnotationTargetTypeConstants.THROWS :
+			offset += 3;
+			break;
+		default :
+			throw new ClassFormatException(ClassFormatException.ErrMalformedAttribute);
+	}
+	int typePathLength = u1At(offset);
+	return checkAnnotation(offset + 1 + typePathLength * 2);
+}
+
+private FieldInfo[] decodeFields() {
+	FieldInfo[] result = this.fields;
+	if (result == null && this.fieldsCount != 0) {
+		synchronized (this) {
+			result = this.fields;
+			if (result == null) {
+				result = new FieldInfo[this.fieldsCount];
+				int readOffset = this.fieldsOffset;
+				for (int i = 0; i < this.fieldsCount; i++) {
+					result[i] = FieldInfo.createField(this.reference, this.constantPoolOffsets, readOffset, this.version);
+					readOffset += result[i].sizeInBytes();
+				}
+				this.fields = result;
+			}
+		}
+	}
+	return result;
+}
+
+private MethodInfo[] decodeMethods() {
+	MethodInfo[] result = this.methods;
+	if (result == null && this.methodsCount != 0) {
+		synchronized (this) {
+			result = this.methods;
+			if (result == null) {
+				result = new MethodInfo[this.methodsCount];
+				boolean isAnnotationType = (this.accessFlags & ClassFileConstants.AccAnnotation) != 0;
+				int readOffset = this.methodsOffset;
+				for (int i = 0; i < this.methodsCount; i++) {
+					result[i] = isAnnotationType
+						? AnnotationMethodInfo.createAnnotationMethod(this.reference, this.constantPoolOffsets, readOffset, this.version)
+						: MethodInfo.createMethod(this.reference, this.constantPoolOffsets, readOffset, this.version);
+					readOffset += result[i].sizeInBytes();
+				}
+				this.methods = result;
+			}
+		}
+	}
+	return result;
+}
+
 private void decodeRecords(int readOffset, char[] attributeName) {
 	if (CharOperation.equals(attributeName, AttributeNamesConstants.RecordClass)) {
 		this.isRecord = true;
@@ -690,7 +875,7 @@ public char[] getEnclosingTypeName() {
  */
 @Override
 public IBinaryField[] getFields() {
-	return this.fields;
+	return decodeFields();
 }
 /**
  * @see IBinaryType#getModule()
@@ -814,7 +999,7 @@ public IBinaryNestedType[] getMemberTypes() {
  */
 @Override
 public IBinaryMethod[] getMethods() {
-	return this.methods;
+	return decodeMethods();
 }
 
 /*
@@ -1089,13 +1274,14 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 		}
 
 		// fields
+		FieldInfo[] fieldInfos = decodeFields();
 		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
 		int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
 		boolean compareFields = true;
 		if (this.fieldsCount == otherFieldInfosLength) {
 			int i = 0;
 			for (; i < this.fieldsCount; i++)
-				if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i])) break;
+				if (hasStructuralFieldChanges(fieldInfos[i], otherFieldInfos[i])) break;
 			if ((compareFields = i != this.fieldsCount) && !orderRequired && !excludesSynthetic)
 				return true;
 		}
@@ -1104,28 +1290,29 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 				return true;
 			if (orderRequired) {
 				if (this.fieldsCount != 0)
-					Arrays.sort(this.fields);
+					Arrays.sort(fieldInfos);
 				if (otherFieldInfosLength != 0)
 					Arrays.sort(otherFieldInfos);
 			}
 			if (excludesSynthetic) {
-				if (hasNonSyntheticFieldChanges(this.fields, otherFieldInfos))
+				if (hasNonSyntheticFieldChanges(fieldInfos, otherFieldInfos))
 					return true;
 			} else {
 				for (int i = 0; i < this.fieldsCount; i++)
-					if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i]))
+					if (hasStructuralFieldChanges(fieldInfos[i], otherFieldInfos[i]))
 						return true;
 			}
 		}
 
 		// methods
+		MethodInfo[] methodInfos = decodeMethods();
 		MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
 		int otherMethodInfosLength = otherMethodInfos == null ? 0 : otherMethodInfos.length;
 		boolean compareMethods = true;
 		if (this.methodsCount == otherMethodInfosLength) {
 			int i = 0;
 			for (; i < this.methodsCount; i++)
-				if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i])) break;
+				if (hasStructuralMethodChanges(methodInfos[i], otherMethodInfos[i])) break;
 			if ((compareMethods = i != this.methodsCount) && !orderRequired && !excludesSynthetic)
 				return true;
 		}
@@ -1134,16 +1321,16 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 				return true;
 			if (orderRequired) {
 				if (this.methodsCount != 0)
-					Arrays.sort(this.methods);
+					Arrays.sort(methodInfos);
 				if (otherMethodInfosLength != 0)
 					Arrays.sort(otherMethodInfos);
 			}
 			if (excludesSynthetic) {
-				if (hasNonSyntheticMethodChanges(this.methods, otherMethodInfos))
+				if (hasNonSyntheticMethodChanges(methodInfos, otherMethodInfos))
 					return true;
 			} else {
 				for (int i = 0; i < this.methodsCount; i++)
-					if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i]))
+					if (hasStructuralMethodChanges(methodInfos[i], otherMethodInfos[i]))
 						return true;
 			}
 		}
@@ -1337,11 +1524,13 @@ private boolean affectsSignature(IBinaryTypeAnnotation typeAnnotation) {
  */
 private void initialize() throws ClassFormatException {
 	try {
+		FieldInfo[] fieldInfos = decodeFields();
 		for (int i = 0, max = this.fieldsCount; i < max; i++) {
-			this.fields[i].initialize();
+			fieldInfos[i].initialize();
 		}
+		MethodInfo[] methodInfos = decodeMethods();
 		for (int i = 0, max = this.methodsCount; i < max; i++) {
-			this.methods[i].initialize();
+			methodInfos[i].initialize();
 		}
 		if (this.innerInfos != null) {
 			for (InnerClassInfo element : this.innerInfos) {
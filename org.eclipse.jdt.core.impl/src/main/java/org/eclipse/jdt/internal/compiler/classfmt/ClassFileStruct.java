@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.classfmt;
 
+import org.eclipse.jdt.internal.compiler.codegen.AttributeNamesConstants;
+
 abstract public class ClassFileStruct {
+	// known attribute names, indexed by their length
+	private static final char[][][] ATTRIBUTE_NAMES = knownAttributeNames();
+
 	byte[] reference;
 	int[] constantPoolOffsets;
 	int structOffset;
@@ -22,6 +27,38 @@ public ClassFileStruct(byte[] classFileBytes, int[] offsets, int offset) {
 	this.constantPoolOffsets = offsets;
 	this.structOffset = offset;
 }
+private static char[][][] knownAttributeNames() {
+	char[][] known = {
+		AttributeNamesConstants.SyntheticName, AttributeNamesConstants.ConstantValueName,
+		AttributeNamesConstants.LineNumberTableName, AttributeNamesConstants.LocalVariableTableName,
+		AttributeNamesConstants.InnerClassName, AttributeNamesConstants.CodeName,
+		AttributeNamesConstants.ExceptionsName, AttributeNamesConstants.SourceName,
+		AttributeNamesConstants.DeprecatedName, AttributeNamesConstants.SignatureName,
+		AttributeNamesConstants.LocalVariableTypeTableName, AttributeNamesConstants.EnclosingMethodName,
+		AttributeNamesConstants.ModuleName, AttributeNamesConstants.ModuleMainClass,
+		AttributeNamesConstants.ModulePackages, AttributeNamesConstants.AnnotationDefaultName,
+		AttributeNamesConstants.RuntimeInvisibleAnnotationsName, AttributeNamesConstants.RuntimeVisibleAnnotationsName,
+		AttributeNamesConstants.RuntimeInvisibleParameterAnnotationsName,
+		AttributeNamesConstants.RuntimeVisibleParameterAnnotationsName, AttributeNamesConstants.StackMapTableName,
+		AttributeNamesConstants.InconsistentHierarchy, AttributeNamesConstants.VarargsName,
+		AttributeNamesConstants.StackMapName, AttributeNamesConstants.MissingTypesName,
+		AttributeNamesConstants.BootstrapMethodsName, AttributeNamesConstants.RuntimeVisibleTypeAnnotationsName,
+		AttributeNamesConstants.RuntimeInvisibleTypeAnnotationsName, AttributeNamesConstants.MethodParametersName,
+		AttributeNamesConstants.NestHost, AttributeNamesConstants.NestMembers, AttributeNamesConstants.RecordClass,
+		AttributeNamesConstants.PermittedSubclasses
+	};
+	char[][][] names = new char[40][][];
+	for (char[] name : known) {
+		char[][] sameLength = names[name.length];
+		if (sameLength == null) {
+			names[name.length] = new char[][] {name};
+		} else {
+			System.arraycopy(sameLength, 0, names[name.length] = new char[sameLength.length + 1][], 0, sameLength.length);
+			names[name.length][sameLength.length] = name;
+		}
+	}
+	return names;
+}
 public double doubleAt(int relativeOffset) {
 	return Double.longBitsToDouble(i8At(relativeOffset));
 }
@@ -58,6 +95,28 @@ public long u4At(int relativeOffset) {
 	int position = relativeOffset + this.structOffset;
 	return (this.reference[position++] & 0xFFL) << 24 | (this.reference[position++] & 0xFF) << 16 | (this.reference[position++] & 0xFF) << 8 | this.reference[position] & 0xFF;
 }
+/**
+ * Answers the name of an attribute, given the offset of its constant pool utf8 entry. Known attribute
+ * names are answered as the shared constants of {@link AttributeNamesConstants} instead of being decoded
+ * again for every attribute of every member; the answer must not be modified.
+ */
+public char[] attributeNameAt(int utf8Offset) {
+	int length = u2At(utf8Offset + 1);
+	if (length < ATTRIBUTE_NAMES.length) {
+		char[][] candidates = ATTRIBUTE_NAMES[length];
+		if (candidates != null) {
+			int start = this.structOffset + utf8Offset + 3;
+			candidates : for (char[] candidate : candidates) {
+				for (int i = 0; i < length; i++) {
+					if (this.reference[start + i] != candidate[i])
+						continue candidates;
+				}
+				return candidate;
+			}
+		}
+	}
+	return utf8At(utf8Offset + 3, length);
+}
 public char[] utf8At(int relativeOffset, int bytesAvailable) {
 	int length = bytesAvailable;
 	char[] outputBuf = new char[bytesAvailable];
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
 import org.eclipse.jdt.internal.compiler.impl.*;
 import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
+import org.eclipse.jdt.internal.compiler.util.CharArrayInterner;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
 @SuppressWarnings("rawtypes")
@@ -48,7 +49,7 @@ public static FieldInfo createField(byte[] classFileBytes, int[] offsets, int of
 	for (int i = 0; i < attributesCount; i++) {
 		// check the name of each attribute
 		int utf8Offset = fieldInfo.constantPoolOffsets[fieldInfo.u2At(readOffset)] - fieldInfo.structOffset;
-		char[] attributeName = fieldInfo.utf8At(utf8Offset + 3, fieldInfo.u2At(utf8Offset + 1));
+		char[] attributeName = fieldInfo.attributeNameAt(utf8Offset);
 		if (attributeName.length > 0) {
 			switch(attributeName[0]) {
 				case 'S' :
@@ -221,7 +222,7 @@ public char[] getName() {
 	if (this.name == null) {
 		// read the name
 		int utf8Offset = this.constantPoolOffsets[u2At(2)] - this.structOffset;
-		this.name = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+		this.name = CharArrayInterner.SHARED.intern(utf8At(utf8Offset + 3, u2At(utf8Offset + 1)));
 	}
 	return this.name;
 }
@@ -332,7 +333,7 @@ private void readConstantAttribute() {
 	boolean isConstant = false;
 	for (int i = 0; i < attributesCount; i++) {
 		int utf8Offset = this.constantPoolOffsets[u2At(readOffset)] - this.structOffset;
-		char[] attributeName = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+		char[] attributeName = attributeNameAt(utf8Offset);
 		if (CharOperation
 			.equals(attributeName, AttributeNamesConstants.ConstantValueName)) {
 			isConstant = true;
@@ -393,7 +394,7 @@ private void readModifierRelatedAttributes() {
 	int readOffset = 8;
 	for (int i = 0; i < attributesCount; i++) {
 		int utf8Offset = this.constantPoolOffsets[u2At(readOffset)] - this.structOffset;
-		char[] attributeName = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+		char[] attributeName = attributeNameAt(utf8Offset);
 		// test added for obfuscated .class file. See 79772
 		if (attributeName.length != 0) {
 			switch(attributeName[0]) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
 import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
 import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
 import org.eclipse.jdt.internal.compiler.lookup.TagBits;
+import org.eclipse.jdt.internal.compiler.util.CharArrayInterner;
 
 @SuppressWarnings("rawtypes")
 public class MethodInfo extends ClassFileStruct implements IBinaryMethod, Comparable {
@@ -51,7 +52,7 @@ public static MethodInfo createMethod(byte[] classFileBytes, int[] offsets, int
 	for (int i = 0; i < attributesCount; i++) {
 		// check the name of each attribute
 		int utf8Offset = methodInfo.constantPoolOffsets[methodInfo.u2At(readOffset)] - methodInfo.structOffset;
-		char[] attributeName = methodInfo.utf8At(utf8Offset + 3, methodInfo.u2At(utf8Offset + 1));
+		char[] attributeName = methodInfo.attributeNameAt(utf8Offset);
 		if (attributeName.length > 0) {
 			switch(attributeName[0]) {
 				case 'M' :
@@ -327,7 +328,7 @@ public char[] getSelector() {
 	if (this.name == null) {
 		// read the name
 		int utf8Offset = this.constantPoolOffsets[u2At(2)] - this.structOffset;
-		this.name = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+		this.name = CharArrayInterner.SHARED.intern(utf8At(utf8Offset + 3, u2At(utf8Offset + 1)));
 	}
 	return this.name;
 }
@@ -377,7 +378,7 @@ private synchronized void readExceptionAttributes() {
 	char[][] names = null;
 	for (int i = 0; i < attributesCount; i++) {
 		int utf8Offset = this.constantPoolOffsets[u2At(readOffset)] - this.structOffset;
-		char[] attributeName = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+		char[] attributeName = attributeNameAt(utf8Offset);
 		if (CharOperation.equals(attributeName, AttributeNamesConstants.ExceptionsName)) {
 			// read the number of exception entries
 			int entriesNumber = u2At(readOffset + 6);
@@ -412,7 +413,7 @@ private synchronized void readModifierRelatedAttributes() {
 	int readOffset = 8;
 	for (int i = 0; i < attributesCount; i++) {
 		int utf8Offset = this.constantPoolOffsets[u2At(readOffset)] - this.structOffset;
-		char[] attributeName = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+		char[] attributeName = attributeNameAt(utf8Offset);
 		// test added for obfuscated .class file. See 79772
 		if (attributeName.length != 0) {
 			switch(attributeName[0]) {
@@ -465,7 +466,7 @@ private synchronized void readCodeAttribute() {
 	if (attributesCount != 0) {
 		for (int i = 0; i < attributesCount; i++) {
 			int utf8Offset = this.constantPoolOffsets[u2At(readOffset)] - this.structOffset;
-			char[] attributeName = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+			char[] attributeName = attributeNameAt(utf8Offset);
 			if (CharOperation.equals(attributeName, AttributeNamesConstants.CodeName)) {
 				decodeCodeAttribute(readOffset);
 				if (this.argumentNames == null) {
@@ -493,7 +494,7 @@ private void decodeCodeAttribute(int offset) {
 	readOffset += 2;
 	for (int i = 0; i < attributesCount; i++) {
 		int utf8Offset = this.constantPoolOffsets[u2At(readOffset)] - this.structOffset;
-		char[] attributeName = utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+		char[] attributeName = attributeNameAt(utf8Offset);
 		if (CharOperation.equals(attributeName, AttributeNamesConstants.LocalVariableTableName)) {
 			decodeLocalVariableAttribute(readOffset, codeLength);
 		}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.codegen;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.internal.compiler.lookup.LocalVariableBinding;
+
+/**
+ * Initialization ranges of the locals of a code stream, grouped by the slot the locals are stored in,
+ * so that the local held by a slot at a given pc is found without going through all the locals of the
+ * method. Methods with large switch statements declare thousands of locals in a few slots, and need
+ * the locals in scope at each of their thousands of frames.
+ */
+public class LocalVariableRanges {
+
+	private final LocalVariableBinding[] locals;
+	// per slot, the ranges of the locals stored in this slot, sorted by start pc
+	private final int[][] starts;
+	private final int[][] ends;
+	private final int[][] maxEnds; // maxEnds[slot][i] is the largest end of the ranges 0..i
+	private final int[][] localIndexes;
+
+public LocalVariableRanges(LocalVariableBinding[] locals, int localsCount) {
+	this.locals = locals;
+	int slotCount = 0;
+	for (int i = 0; i < localsCount; i++) {
+		LocalVariableBinding local = locals[i];
+		if (local != null && local.resolvedPosition >= slotCount)
+			slotCount = local.resolvedPosition + 1;
+	}
+	int[] rangeCounts = new int[slotCount];
+	for (int i = 0; i < localsCount; i++) {
+		LocalVariableBinding local = locals[i];
+		if (local == null || local.resolvedPosition < 0) continue;
+		for (int j = 0; j < local.initializationCount; j++) {
+			if (local.initializationPCs[j << 1] < local.initializationPCs[(j << 1) + 1])
+				rangeCounts[local.resolvedPosition]++;
+		}
+	}
+	// sort the ranges of each slot by start pc, keeping the range index in the low bits
+	long[][] keys = new long[slotCount][];
+	int[][] rangeEnds = new int[slotCount][];
+	int[][] rangeLocals = new int[slotCount][];
+	int[] filled = new int[slotCount];
+	for (int slot = 0; slot < slotCount; slot++) {
+		keys[slot] = new long[rangeCounts[slot]];
+		rangeEnds[slot] = new int[rangeCounts[slot]];
+		rangeLocals[slot] = new int[rangeCounts[slot]];
+	}
+	for (int i = 0; i < localsCount; i++) {
+		LocalVariableBinding local = locals[i];
+		if (local == null || local.resolvedPosition < 0) continue;
+		int slot = local.resolvedPosition;
+		for (int j = 0; j < local.initializationCount; j++) {
+			int startPC = local.initializationPCs[j << 1];
+			int endPC = local.initializationPCs[(j << 1) + 1];
+			if (startPC < endPC) {
+				int index = filled[slot]++;
+				keys[slot][index] = ((long) startPC << 32) | index;
+				rangeEnds[slot][index] = endPC;
+				rangeLocals[slot][index] = i;
+			}
+		}
+	}
+	this.starts = new int[slotCount][];
+	this.ends = new int[slotCount][];
+	this.maxEnds = new int[slotCount][];
+	this.localIndexes = new int[slotCount][];
+	for (int slot = 0; slot < slotCount; slot++) {
+		long[] slotKeys = keys[slot];
+		Arrays.sort(slotKeys);
+		int count = slotKeys.length;
+		int[] slotStarts = this.starts[slot] = new int[count];
+		int[] slotEnds = this.ends[slot] = new int[count];
+		int[] slotMaxEnds = this.maxEnds[slot] = new int[count];
+		int[] slotLocalIndexes = this.localIndexes[slot] = new int[count];
+		for (int k = 0; k < count; k++) {
+			int index = (int) slotKeys[k];
+			slotStarts[k] = (int) (slotKeys[k] >>> 32);
+			slotEnds[k] = rangeEnds[slot][index];
+			slotMaxEnds[k] = k == 0 ? slotEnds[k] : Math.max(slotMaxEnds[k - 1], slotEnds[k]);
+			slotLocalIndexes[k] = rangeLocals[slot][index];
+		}
+	}
+}
+
+/**
+ * Answers the number of slots holding locals.
+ */
+public int slotCount() {
+	return this.starts.length;
+}
+
+/**
+ * Answers the local which is initialized at the given pc in the given slot, or <code>null</code> if there
+ * is none. When several locals are, the one which was added first to the code stream is answered.
+ */
+public LocalVariableBinding activeLocal(int slot, int pc) {
+	if (slot < 0 || slot >= this.starts.length)
+		return null;
+	int[] slotStarts = this.starts[slot];
+	// last range starting at or before pc
+	int low = 0, high = slotStarts.length - 1;
+	while (low <= high) {
+		int middle = (low + high) >>> 1;
+		if (slotStarts[middle] <= pc)
+			low = middle + 1;
+		else
+			high = middle - 1;
+	}
+	int[] slotEnds = this.ends[slot];
+	int[] slotMaxEnds = this.maxEnds[slot];
+	int[] slotLocalIndexes = this.localIndexes[slot];
+	int found = -1;
+	for (int k = high; k >= 0 && slotMaxEnds[k] > pc; k--) {
+		if (slotEnds[k] > pc && (found == -1 || slotLocalIndexes[k] < found))
+			found = slotLocalIndexes[k];
+	}
+	return found == -1 ? null : this.locals[found];
+}
+}
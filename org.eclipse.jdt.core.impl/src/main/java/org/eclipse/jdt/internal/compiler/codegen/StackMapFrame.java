@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2010 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -101,8 +101,13 @@ public class StackMapFrame {
 		}
 	}
 
+	/**
+	 * Answers a copy of the receiver. The verification types are shared with the copy, they are never
+	 * modified once in a frame, except the uninitialized ones, which get initialized by the constructor
+	 * call: these are copied, the same copy replacing the occurrences of equal uninitialized types.
+	 */
 	public StackMapFrame duplicate() {
-		Map<VerificationTypeInfo, VerificationTypeInfo> cache = new HashMap<>();
+		Map<VerificationTypeInfo, VerificationTypeInfo> cache = null;
 		int length = this.locals.length;
 		StackMapFrame result = new StackMapFrame(length);
 		result.numberOfLocals = -1;
@@ -111,10 +116,14 @@ public class StackMapFrame {
 		result.numberOfStackItems = this.numberOfStackItems;
 
 		if (length != 0) {
-			result.locals = new VerificationTypeInfo[length];
 			for (int i = 0; i < length; i++) {
 				final VerificationTypeInfo verificationTypeInfo = this.locals[i];
-				result.locals[i] = getCachedValue(cache, verificationTypeInfo);
+				if (isUninitialized(verificationTypeInfo)) {
+					if (cache == null) cache = new HashMap<>();
+					result.locals[i] = getCachedValue(cache, verificationTypeInfo);
+				} else {
+					result.locals[i] = verificationTypeInfo;
+				}
 			}
 		}
 		length = this.numberOfStackItems;
@@ -122,25 +131,27 @@ public class StackMapFrame {
 			result.stackItems = new VerificationTypeInfo[length];
 			for (int i = 0; i < length; i++) {
 				final VerificationTypeInfo verificationTypeInfo = this.stackItems[i];
-				result.stackItems[i] = getCachedValue(cache, verificationTypeInfo);
+				if (isUninitialized(verificationTypeInfo)) {
+					if (cache == null) cache = new HashMap<>();
+					result.stackItems[i] = getCachedValue(cache, verificationTypeInfo);
+				} else {
+					result.stackItems[i] = verificationTypeInfo;
+				}
 			}
 		}
 		return result;
 	}
 
+	private static boolean isUninitialized(VerificationTypeInfo value) {
+		return value != null
+				&& (value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED || value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED_THIS);
+	}
+
 	private static VerificationTypeInfo getCachedValue(Map<VerificationTypeInfo, VerificationTypeInfo> cache, VerificationTypeInfo value) {
-		VerificationTypeInfo cachedValue = value;
-		if (value != null) {
-			if (value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED || value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED_THIS) {
-				// we use the cache only for uninitialized info
-				cachedValue = cache.get(value);
-				if (cachedValue == null) {
-					cachedValue = value.duplicate();
-					cache.put(value, cachedValue);
-				}
-			} else {
-				cachedValue = value.duplicate();
-			}
+		VerificationTypeInfo cachedValue = cache.get(value);
+		if (cachedValue == null) {
+			cachedValue = value.duplicate();
+			cache.put(value, cachedValue);
 		}
 		return cachedValue;
 	}
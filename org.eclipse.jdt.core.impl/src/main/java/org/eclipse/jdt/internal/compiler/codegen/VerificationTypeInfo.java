@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -221,30 +221,39 @@ public class VerificationTypeInfo {
 		this.id = this.binding.id;
 	}
 
+	/**
+	 * Answers the verification type of the values of both the receiver and the given type.
+	 * The receiver may be shared by several frames, so it is left unchanged and a new verification
+	 * type is answered if the types differ.
+	 */
 	public VerificationTypeInfo merge(VerificationTypeInfo verificationTypeInfo, Scope scope) {
 		if (this.binding.isBaseType() && verificationTypeInfo.binding.isBaseType()) {
 			return this;
 		}
 		if (!this.binding.equals(verificationTypeInfo.binding)) {
+			VerificationTypeInfo result = duplicate();
+			result.bindings = new ArrayList<>();
 			if (this.bindings == null) {
-				this.bindings = new ArrayList<>();
-				this.bindings.add(this.binding);
+				result.bindings.add(this.binding);
+			} else {
+				result.bindings.addAll(this.bindings);
 			}
-			this.bindings.add(verificationTypeInfo.binding);
-			this.binding = scope.lowerUpperBound(this.bindings.toArray(new TypeBinding[this.bindings.size()]));
-			if (this.binding != null) {
-				this.id = this.binding.id;
-				switch (this.id) {
+			result.bindings.add(verificationTypeInfo.binding);
+			result.binding = scope.lowerUpperBound(result.bindings.toArray(new TypeBinding[result.bindings.size()]));
+			if (result.binding != null) {
+				result.id = result.binding.id;
+				switch (result.id) {
 					case TypeIds.T_null:
-						this.tag = VerificationTypeInfo.ITEM_NULL;
+						result.tag = VerificationTypeInfo.ITEM_NULL;
 						break;
 					default:
-						this.tag = VerificationTypeInfo.ITEM_OBJECT;
+						result.tag = VerificationTypeInfo.ITEM_OBJECT;
 				}
 			} else {
-				this.binding = scope.getJavaLangObject();
-				this.tag = VerificationTypeInfo.ITEM_OBJECT;
+				result.binding = scope.getJavaLangObject();
+				result.tag = VerificationTypeInfo.ITEM_OBJECT;
 			}
+			return result;
 		}
 		return this;
 	}
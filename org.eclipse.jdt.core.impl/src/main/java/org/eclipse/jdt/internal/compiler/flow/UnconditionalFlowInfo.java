@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -102,6 +102,9 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[INN] is iNNBit
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	private int sharedExtra;
+		// bit j is set when extra[j] is shared with copies of this flow info,
+		// unshareExtra(rows) must be called before writing into extra
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -109,6 +112,10 @@ public class UnconditionalFlowInfo extends FlowInfo {
 	public static final int BitCacheSize = 64; // 64 bits in a long.
 	public static final int IN = 6;
 	public static final int INN = 7;
+	// sets of rows of extra
+	private static final int INITS_EXTRA = 1 << 0 | 1 << 1;
+	private static final int NULLS_EXTRA = 1 << 2 | 1 << 3 | 1 << 4 | 1 << 5 | 1 << IN | 1 << INN;
+	private static final int ALL_EXTRA = INITS_EXTRA | NULLS_EXTRA;
 
 /* fakeInitializedFlowInfo: For Lambda expressions tentative analysis during overload resolution.
    We presume that any and all outer locals touched by the lambda are definitely assigned and
@@ -246,6 +253,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
                     }
             	} else {
             		// current storage is longer
+            		unshareExtra(ALL_EXTRA);
             		mergeLimit = otherLength;
             		if (COVERAGE_TEST_FLAG && CoverageTestId == 4) {
                     	throw new AssertionFailedException("COVERAGE 4"); //$NON-NLS-1$
@@ -406,6 +414,7 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
         	}
         	else {
         		// current storage is longer
+        		unshareExtra(INITS_EXTRA);
         		for (; i < otherLength; i++) {
         			this.extra[1][i] |= otherInits.extra[1][i];
         		}
@@ -509,6 +518,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
                     }
 				}
 			}
+			unshareExtra(ALL_EXTRA);
 		}
 		// PREMATURE skip operations for fields
 		int i;
@@ -675,7 +685,12 @@ public FlowInfo copy() {
 	copy.iNNBit = this.iNNBit;
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
-	if (this.extra != null) {
+	if (this.extra != null && (hasNullInfo || !hasExtraNullBits())) {
+		// share the rows of extra bits until either flow info modifies them
+		copy.extra = this.extra.clone();
+		copy.sharedExtra = this.sharedExtra = ALL_EXTRA;
+	} else if (this.extra != null) {
+		// stale null bits are not copied
 		int length;
 		copy.extra = new long[extraLength][];
 		System.arraycopy(this.extra[0], 0,
@@ -683,16 +698,8 @@ public FlowInfo copy() {
 			length);
 		System.arraycopy(this.extra[1], 0,
 			copy.extra[1] = new long[length], 0, length);
-		if (hasNullInfo) {
-			for (int j = 2; j < 6; j++) {
-				System.arraycopy(this.extra[j], 0,
-					copy.extra[j] = new long[length], 0, length);
-			}
-		}
-		else {
-			for (int j = 2; j < 6; j++) {
-				copy.extra[j] = new long[length];
-			}
+		for (int j = 2; j < 6; j++) {
+			copy.extra[j] = new long[length];
 		}
 		System.arraycopy(this.extra[IN], 0, copy.extra[IN] = new long[length], 0, length);
 		System.arraycopy(this.extra[INN], 0, copy.extra[INN] = new long[length], 0, length);
@@ -700,6 +707,47 @@ public FlowInfo copy() {
 	return copy;
 }
 
+/**
+ * Answer whether some extra null bits are set, which a copy without null info must not see.
+ */
+private boolean hasExtraNullBits() {
+	for (int j = 2; j < 6; j++) {
+		long[] bits = this.extra[j];
+		for (int i = 0, length = bits.length; i < length; i++) {
+			if (bits[i] != 0)
+				return true;
+		}
+	}
+	return false;
+}
+
+/**
+ * Answer the definite inits held by the extra bits, or null if there are none, for a caller which keeps them.
+ * The caller must not modify them: they are copied before this flow info modifies them.
+ */
+public long[] shareExtraDefiniteInits() {
+	if (this.extra == null) {
+		return null;
+	}
+	this.sharedExtra |= 1 << 0;
+	return this.extra[0];
+}
+
+/**
+ * Copy the given rows of extra bits before they are modified, if they are shared with another flow info.
+ */
+private void unshareExtra(int rows) {
+	int shared = this.sharedExtra & rows;
+	if (shared != 0) {
+		for (int j = 0; j < extraLength; j++) {
+			if ((shared & 1 << j) != 0) {
+				this.extra[j] = this.extra[j].clone();
+			}
+		}
+		this.sharedExtra &= ~shared;
+	}
+}
+
 /**
  * Discard definite inits and potential inits from this, then return this.
  * The returned flow info only holds null related information.
@@ -712,6 +760,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 	this.definiteInits =
 		this.potentialInits = 0;
 	if (this.extra != null) {
+		unshareExtra(INITS_EXTRA);
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
 			this.extra[0][i] = this.extra[1][i] = 0;
 		}
@@ -744,6 +793,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 	if ((vectorIndex = limit / BitCacheSize - 1) >= length) {
 		return this; // not enough room yet
 	}
+	unshareExtra(ALL_EXTRA);
 	if (vectorIndex >= 0) {
 		// else we only have complete non field array items left
 		long mask = (1L << limit % BitCacheSize)-1;
@@ -1160,6 +1210,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
                     }
 				}
 			}
+			unshareExtra(NULLS_EXTRA);
 			// MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][vectorIndex]/gc
 			if (((mask = 1L << position % BitCacheSize)
   				& (a1 = this.extra[1 + 1][vectorIndex])
@@ -1242,6 +1293,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
                     }
 				}
 			}
+			unshareExtra(NULLS_EXTRA);
 			if ((mask & this.extra[1 + 1][vectorIndex]) != 0) {
   			  	if ((mask
   			  		& (~this.extra[2 + 1][vectorIndex] | this.extra[3 + 1][vectorIndex]
@@ -1290,9 +1342,11 @@ final private void markAsDefinitelyAssigned(int position) {
 					growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
-			long mask;
-			this.extra[0][vectorIndex] |=
-				mask = 1L << position % BitCacheSize;
+			long mask = 1L << position % BitCacheSize;
+			if ((this.extra[0][vectorIndex] & this.extra[1][vectorIndex] & mask) != 0)
+				return; // already assigned, do not unshare the extra bits
+			unshareExtra(INITS_EXTRA);
+			this.extra[0][vectorIndex] |= mask;
 			this.extra[1][vectorIndex] |= mask;
 		}
 	}
@@ -1345,6 +1399,7 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
+    		unshareExtra(NULLS_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= mask = 1L << position % BitCacheSize;
     		this.extra[4][vectorIndex] |= mask;
@@ -1395,6 +1450,7 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
+    		unshareExtra(NULLS_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= mask = 1L << position % BitCacheSize;
     		this.extra[3][vectorIndex] |= mask;
@@ -1452,6 +1508,7 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 					growSpace(vectorIndex+1, 0, oldLength);
 				}
 			}
+			unshareExtra(NULLS_EXTRA);
 			this.extra[2][vectorIndex]
 			    |= mask = 1L << position % BitCacheSize;
 			this.extra[5][vectorIndex] |= mask;
@@ -1489,6 +1546,7 @@ public void resetNullInfo(LocalVariableBinding local) {
     			// before and for which no null bits exist.
     			return;
     		}
+    		unshareExtra(NULLS_EXTRA);
     		this.extra[2][vectorIndex]
     		    &= mask = ~(1L << position % BitCacheSize);
     		this.extra[3][vectorIndex] &= mask;
@@ -1532,6 +1590,7 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		unshareExtra(NULLS_EXTRA);
     		mask = 1L << position % BitCacheSize;
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'unknown' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[5][vectorIndex] |= mask;
@@ -1572,6 +1631,7 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		unshareExtra(NULLS_EXTRA);
     		mask = 1L << position % BitCacheSize;
     		this.extra[3][vectorIndex] |= mask;
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially null' mark in unexpected state"); //$NON-NLS-1$
@@ -1612,6 +1672,7 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 					growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		unshareExtra(NULLS_EXTRA);
     		mask = 1L << position % BitCacheSize;
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially non-null' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[4][vectorIndex] |= mask;
@@ -1777,6 +1838,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
             	throw new AssertionFailedException("COVERAGE 36"); //$NON-NLS-1$
             }
 		}
+		unshareExtra(extraRowsChangedByMerge(otherInits, otherIsUnreachable || otherHasNulls));
         // MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][i]/g
 		// manage definite assignment
 		for (i = 0; i < mergeLimit; i++) {
@@ -1897,6 +1959,37 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 	return this;
 }
 
+/**
+ * Answer the rows of extra bits which merging otherInits into this flow info may change. The rows
+ * which are shared by both flow infos are left unchanged by the merge, unless they hold null bits
+ * that get reset, or that are not in one of the states listed above (a lone nullBit1 gets nullBit4 added).
+ */
+private int extraRowsChangedByMerge(UnconditionalFlowInfo otherInits, boolean nullsKept) {
+	long[][] otherExtra = otherInits.extra;
+	if (otherExtra == null || otherExtra[0].length != this.extra[0].length) {
+		return ALL_EXTRA;
+	}
+	int rows = ALL_EXTRA;
+	for (int j = 0; j < extraLength; j++) {
+		if (this.extra[j] == otherExtra[j]) {
+			rows &= ~(1 << j);
+		}
+	}
+	if ((rows & NULLS_EXTRA) != 0) {
+		return rows | NULLS_EXTRA;
+	}
+	long[] bits1 = this.extra[2], bits2 = this.extra[3], bits3 = this.extra[4], bits4 = this.extra[5];
+	for (int i = 0, length = bits1.length; i < length; i++) {
+		long changed = nullsKept
+			? bits1[i] & ~(bits2[i] | bits3[i] | bits4[i])
+			: bits1[i] | bits2[i] | bits3[i] | bits4[i];
+		if (changed != 0) {
+			return rows | NULLS_EXTRA;
+		}
+	}
+	return rows;
+}
+
 /*
  * Answer the total number of fields in enclosing types of a given type
  */
@@ -1962,6 +2055,7 @@ public FlowInfo setReachMode(int reachMode) {
 			// see InitializationTest#test090 (and others)
 			this.potentialInits = 0;
 			if (this.extra != null) {
+				unshareExtra(INITS_EXTRA);
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
 					this.extra[1][i] = 0;
@@ -2132,6 +2226,7 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 			}
 			else {
 				// current storage is longer
+				unshareExtra(INITS_EXTRA);
 				for (; i < otherLength; i++) {
 					this.extra[0][i] &= otherInits.extra[0][i];
 				}
@@ -2140,6 +2235,7 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 				}
 			}
 		} else {
+			unshareExtra(INITS_EXTRA);
 			for (int i = 0; i < this.extra[0].length; i++) {
 				this.extra[0][i] = 0;
 			}
@@ -2171,6 +2267,7 @@ public void resetAssignmentInfo(int position) {
 			// use extra vector
 			int vectorIndex = position / BitCacheSize - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
+			unshareExtra(INITS_EXTRA);
 			long mask;
 			this.extra[0][vectorIndex] &=
 				mask = ~(1L << position % BitCacheSize);
@@ -2181,6 +2278,7 @@ public void resetAssignmentInfo(int position) {
 
 private void createExtraSpace(int length) {
 	this.extra = new long[extraLength][];
+	this.sharedExtra = 0;
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
 	}
@@ -2191,6 +2289,7 @@ private void createExtraSpace(int length) {
 }
 
 public void growSpace(int newLength, int copyStart, int copyLength) {
+	this.sharedExtra = 0; // all the rows are replaced
 	for (int j = 0; j < extraLength; j++) {
 		System.arraycopy(this.extra[j], copyStart,
 			this.extra[j] = new long[newLength], copyStart,
@@ -2206,6 +2305,7 @@ public void acceptAllIncomingNullness() {
 	this.iNBit = -1L;
 	this.iNNBit = -1L;
 	if (this.extra != null) {
+		unshareExtra(NULLS_EXTRA);
 		Arrays.fill(this.extra[IN], -1L);
 		Arrays.fill(this.extra[INN], -1L);
 	}
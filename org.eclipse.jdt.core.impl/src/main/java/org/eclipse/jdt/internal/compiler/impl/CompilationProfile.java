@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.impl;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per unit and per phase profile of a compilation: the wall time, the CPU time and the bytes allocated
+ * by the current thread are recorded for each phase a unit goes through, and written in the trace event
+ * format of Chrome, so that a compilation can be opened in a trace viewer.
+ * <p>
+ * A phase is recorded by taking a mark before it runs, then handing the mark to {@link #record(String, char[], long[])}
+ * once it is done, which answers the mark of the next phase. CPU time and allocated bytes are 0 when the VM cannot
+ * measure them.
+ */
+public class CompilationProfile {
+
+	public static final String PARSE = "parse"; //$NON-NLS-1$
+	/** Time the compiler thread waits for a unit parsed by the parsing threads, which record their own {@link #PARSE} phases. */
+	public static final String WAIT_FOR_PARSE = "wait for parse"; //$NON-NLS-1$
+	public static final String BUILD_TYPE_BINDINGS = "build type bindings"; //$NON-NLS-1$
+	public static final String COMPLETE_TYPE_BINDINGS = "complete type bindings"; //$NON-NLS-1$
+	public static final String RESOLVE = "resolve"; //$NON-NLS-1$
+	public static final String ANALYSE = "analyse"; //$NON-NLS-1$
+	public static final String GENERATE = "generate"; //$NON-NLS-1$
+	public static final String WRITE = "write"; //$NON-NLS-1$
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+	private static final com.sun.management.ThreadMXBean ALLOCATIONS;
+	static {
+		com.sun.management.ThreadMXBean allocations = null;
+		try {
+			if (THREADS instanceof com.sun.management.ThreadMXBean
+					&& ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()) {
+				allocations = (com.sun.management.ThreadMXBean) THREADS;
+			}
+		} catch (LinkageError | UnsupportedOperationException e) {
+			allocations = null; // the jdk.management module is not available
+		}
+		ALLOCATIONS = allocations;
+	}
+
+	private static final int START = 0, CPU = 1, ALLOCATED = 2;
+
+	private static class Event {
+		final String phase;
+		final String fileName; // null for the phases that are not specific to a unit
+		final long threadId;
+		final String threadName;
+		final long start;
+		final long duration;
+		final long cpuTime;
+		final long allocatedBytes;
+
+		Event(String phase, String fileName, long start, long duration, long cpuTime, long allocatedBytes) {
+			this.phase = phase;
+			this.fileName = fileName;
+			Thread thread = Thread.currentThread();
+			this.threadId = thread.getId();
+			this.threadName = thread.getName();
+			this.start = start;
+			this.duration = duration;
+			this.cpuTime = cpuTime;
+			this.allocatedBytes = allocatedBytes;
+		}
+	}
+
+	private final long origin = System.nanoTime();
+	private final List<Event> events = new ArrayList<>();
+
+/**
+ * Answers the mark of a phase starting now on the current thread.
+ */
+public long[] mark() {
+	return new long[] {
+		System.nanoTime(),
+		CPU_TIME ? THREADS.getCurrentThreadCpuTime() : 0,
+		ALLOCATIONS != null ? ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0
+	};
+}
+
+/**
+ * Records the given phase, which started at the given mark on the current thread.
+ *
+ * @param phase the name of the phase
+ * @param fileName the file name of the unit going through the phase, or <code>null</code>
+ * @param mark the mark answered when the phase started
+ * @return the mark of the next phase
+ */
+public long[] record(String phase, char[] fileName, long[] mark) {
+	long[] end = mark();
+	Event event = new Event(phase, fileName == null ? null : new String(fileName),
+		mark[START] - this.origin, end[START] - mark[START], end[CPU] - mark[CPU], end[ALLOCATED] - mark[ALLOCATED]);
+	synchronized (this.events) {
+		this.events.add(event);
+	}
+	return end;
+}
+
+/**
+ * Writes the recorded phases to the given file, in the JSON trace event format understood by
+ * <code>chrome://tracing</code> and Perfetto.
+ */
+public void write(File file) throws IOException {
+	List<Event> recorded;
+	synchronized (this.events) {
+		recorded = new ArrayList<>(this.events);
+	}
+	try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+		writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n"); //$NON-NLS-1$
+		Map<Long, String> threadNames = new HashMap<>();
+		boolean first = true;
+		for (Event event : recorded) {
+			threadNames.putIfAbsent(Long.valueOf(event.threadId), event.threadName);
+			if (!first)
+				writer.write(",\n"); //$NON-NLS-1$
+			first = false;
+			writer.write("{\"name\":"); //$NON-NLS-1$
+			writeString(writer, event.phase);
+			writer.write(",\"cat\":\"compile\",\"ph\":\"X\",\"pid\":1,\"tid\":"); //$NON-NLS-1$
+			writer.write(Long.toString(event.threadId));
+			writer.write(",\"ts\":"); //$NON-NLS-1$
+			writeMicros(writer, event.start);
+			writer.write(",\"dur\":"); //$NON-NLS-1$
+			writeMicros(writer, event.duration);
+			writer.write(",\"args\":{"); //$NON-NLS-1$
+			if (event.fileName != null) {
+				writer.write("\"file\":"); //$NON-NLS-1$
+				writeString(writer, event.fileName);
+				writer.write(',');
+			}
+			writer.write("\"cpuMicros\":"); //$NON-NLS-1$
+			writeMicros(writer, event.cpuTime);
+			writer.write(",\"allocatedBytes\":"); //$NON-NLS-1$
+			writer.write(Long.toString(event.allocatedBytes));
+			writer.write("}}"); //$NON-NLS-1$
+		}
+		for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+			if (!first)
+				writer.write(",\n"); //$NON-NLS-1$
+			first = false;
+			writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":"); //$NON-NLS-1$
+			writer.write(thread.getKey().toString());
+			writer.write(",\"args\":{\"name\":"); //$NON-NLS-1$
+			writeString(writer, thread.getValue());
+			writer.write("}}"); //$NON-NLS-1$
+		}
+		writer.write("\n]}\n"); //$NON-NLS-1$
+	}
+}
+
+private static void writeMicros(Writer writer, long nanos) throws IOException {
+	if (nanos < 0)
+		nanos = 0; // the CPU time of a thread may be less precise than its wall time
+	writer.write(Long.toString(nanos / 1000));
+	int fraction = (int) (nanos % 1000);
+	writer.write('.');
+	writer.write((char) ('0' + fraction / 100));
+	writer.write((char) ('0' + fraction / 10 % 10));
+	writer.write((char) ('0' + fraction % 10));
+}
+
+private static void writeString(Writer writer, String value) throws IOException {
+	writer.write('"');
+	for (int i = 0, length = value.length(); i < length; i++) {
+		char c = value.charAt(i);
+		switch (c) {
+			case '"' :
+			case '\\' :
+				writer.write('\\');
+				writer.write(c);
+				break;
+			default :
+				if (c < 0x20) {
+					String hex = Integer.toHexString(c);
+					writer.write("\\u0000", 0, 6 - hex.length()); //$NON-NLS-1$
+					writer.write(hex);
+				} else {
+					writer.write(c);
+				}
+		}
+	}
+	writer.write('"');
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -122,6 +122,8 @@ public class CompilerOptions {
 	public static final String OPTION_Release = "org.eclipse.jdt.core.compiler.release"; //$NON-NLS-1$
 	public static final String OPTION_Encoding = "org.eclipse.jdt.core.encoding"; //$NON-NLS-1$
 	public static final String OPTION_MaxProblemPerUnit = "org.eclipse.jdt.core.compiler.maxProblemPerUnit"; //$NON-NLS-1$
+	public static final String OPTION_InferenceStepBudget = "org.eclipse.jdt.core.compiler.inferenceStepBudget"; //$NON-NLS-1$
+	public static final String OPTION_InferenceTimeBudget = "org.eclipse.jdt.core.compiler.inferenceTimeBudget"; //$NON-NLS-1$
 	public static final String OPTION_TaskTags = "org.eclipse.jdt.core.compiler.taskTags"; //$NON-NLS-1$
 	public static final String OPTION_TaskPriorities = "org.eclipse.jdt.core.compiler.taskPriorities"; //$NON-NLS-1$
 	public static final String OPTION_TaskCaseSensitive = "org.eclipse.jdt.core.compiler.taskCaseSensitive"; //$NON-NLS-1$
@@ -410,6 +412,10 @@ public class CompilerOptions {
 	public boolean parseLiteralExpressionsAsConstants;
 	/** Max problems per compilation unit */
 	public int maxProblemsPerUnit;
+	/** Max incorporation steps spent inferring the type of an invocation, 0 if unlimited */
+	public int inferenceStepBudget;
+	/** Max milliseconds spent inferring the type of an invocation, 0 if unlimited */
+	public int inferenceTimeBudget;
 	/** Tags used to recognize tasks in comments */
 	public char[][] taskTags;
 	/** Respective priorities of recognized task tags */
@@ -1330,6 +1336,8 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_ReportUnusedParameterIncludeDocCommentReference, this.reportUnusedParameterIncludeDocCommentReference ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportSpecialParameterHidingField, this.reportSpecialParameterHidingField ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_MaxProblemPerUnit, String.valueOf(this.maxProblemsPerUnit));
+		optionsMap.put(OPTION_InferenceStepBudget, String.valueOf(this.inferenceStepBudget));
+		optionsMap.put(OPTION_InferenceTimeBudget, String.valueOf(this.inferenceTimeBudget));
 		optionsMap.put(OPTION_InlineJsr, this.inlineJsrBytecode ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ShareCommonFinallyBlocks, this.shareCommonFinallyBlocks ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportNullReference, getSeverityString(NullReference));
@@ -1489,6 +1497,10 @@ public class CompilerOptions {
 		// max problems per compilation unit
 		this.maxProblemsPerUnit = 100; // no more than 100 problems per default
 
+		// type inference of an invocation is not limited per default
+		this.inferenceStepBudget = 0;
+		this.inferenceTimeBudget = 0;
+
 		// tags used to recognize tasks in comments
 		this.taskTags = null;
 		this.taskPriorities = null;
@@ -1738,6 +1750,22 @@ public class CompilerOptions {
 				// ignore ill-formatted limit
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_InferenceStepBudget)) != null) {
+			try {
+				int val = Integer.parseInt(optionValue);
+				if (val >= 0) this.inferenceStepBudget = val;
+			} catch(NumberFormatException e){
+				// ignore ill-formatted limit
+			}
+		}
+		if ((optionValue = optionsMap.get(OPTION_InferenceTimeBudget)) != null) {
+			try {
+				int val = Integer.parseInt(optionValue);
+				if (val >= 0) this.inferenceTimeBudget = val;
+			} catch(NumberFormatException e){
+				// ignore ill-formatted limit
+			}
+		}
 		if ((optionValue = optionsMap.get(OPTION_TaskTags)) != null) {
 			String stringValue = optionValue;
 			if (stringValue.length() == 0) {
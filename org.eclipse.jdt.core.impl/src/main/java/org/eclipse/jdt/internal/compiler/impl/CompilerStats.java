@@ -21,6 +21,7 @@ public class CompilerStats implements Comparable {
 	public long endTime;
 	public long overallTime;
 	public long lineCount;
+	public long unitCount;
 
 	// compile phases
 	public long parseTime;
@@ -28,6 +29,10 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// hand-off queues between the compiler threads, null when not used
+	public QueueStats readQueue;
+	public QueueStats processedQueue;
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
@@ -36,6 +41,15 @@ public long elapsedTime() {
 	return this.overallTime;
 }
 
+/**
+ * Returns the number of units a phase went through per second
+ * @param phaseTime the time spent in the phase
+ * @return the throughput of the phase, or 0 if no time was recorded
+ */
+public double unitsPerSecond(long phaseTime) {
+	return phaseTime == 0 ? 0 : (int) (this.unitCount * 10000.0 / phaseTime) / 10.0;
+}
+
 @Override
 public int compareTo(Object o) {
 	CompilerStats otherStats = (CompilerStats) o;
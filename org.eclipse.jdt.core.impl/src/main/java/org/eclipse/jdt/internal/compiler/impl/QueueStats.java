@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.impl;
+
+/**
+ * Statistics of a hand-off queue between two compiler threads: how full the queue was and how
+ * long its producers and consumers had to wait. Waits are recorded in power of two buckets of
+ * microseconds, bucket <code>i</code> holding the waits shorter than <code>2^i</code> microseconds.
+ */
+public class QueueStats {
+
+	public static final int BUCKETS = 24; // last bucket holds every wait of about 4 seconds and more
+
+	public int capacity;
+	public long handOffCount;
+	public long totalDepth;
+	public int maxDepth;
+
+	public long producerWaitCount;
+	public long producerWaitTime; // nanoseconds
+	public final long[] producerWaits = new long[BUCKETS];
+
+	public long consumerWaitCount;
+	public long consumerWaitTime; // nanoseconds
+	public final long[] consumerWaits = new long[BUCKETS];
+
+public QueueStats(int capacity) {
+	this.capacity = capacity;
+}
+
+/**
+ * Records the depth of the queue when an element is handed off.
+ */
+public synchronized void recordDepth(int depth) {
+	this.handOffCount++;
+	this.totalDepth += depth;
+	if (depth > this.maxDepth)
+		this.maxDepth = depth;
+}
+
+/**
+ * Records a producer which had to wait for the queue to have some space.
+ */
+public synchronized void recordProducerWait(long nanos) {
+	this.producerWaitCount++;
+	this.producerWaitTime += nanos;
+	this.producerWaits[bucket(nanos)]++;
+}
+
+/**
+ * Records a consumer which had to wait for the queue to have some element.
+ */
+public synchronized void recordConsumerWait(long nanos) {
+	this.consumerWaitCount++;
+	this.consumerWaitTime += nanos;
+	this.consumerWaits[bucket(nanos)]++;
+}
+
+private static int bucket(long nanos) {
+	long micros = nanos / 1000;
+	int bucket = 64 - Long.numberOfLeadingZeros(micros);
+	return bucket < BUCKETS ? bucket : BUCKETS - 1;
+}
+
+/**
+ * Returns the average depth of the queue when elements were handed off.
+ */
+public synchronized double averageDepth() {
+	return this.handOffCount == 0 ? 0 : (int) (this.totalDepth * 10.0 / this.handOffCount) / 10.0;
+}
+
+/**
+ * Answers a compact representation of the non empty buckets of the given histogram,
+ * e.g. <code>&lt;64us:12 &lt;1024us:3</code>.
+ */
+public static String toString(long[] waits) {
+	StringBuilder buffer = new StringBuilder();
+	for (int i = 0; i < waits.length; i++) {
+		if (waits[i] == 0) continue;
+		if (buffer.length() > 0)
+			buffer.append(' ');
+		if (i == waits.length - 1)
+			buffer.append(">="); //$NON-NLS-1$
+		else
+			buffer.append('<');
+		buffer.append(1L << (i == waits.length - 1 ? i - 1 : i)).append("us:").append(waits[i]); //$NON-NLS-1$
+	}
+	return buffer.length() == 0 ? "-" : buffer.toString(); //$NON-NLS-1$
+}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Limits the work spent in the type inference of a single invocation (JLS 18.5), and optionally
+ * records which invocations are the most expensive to infer.
+ * <p>
+ * The work is measured from the outermost invocation being inferred, so that the inference of the
+ * nested invocations and lambda bodies it triggers is charged to it. A step is the combination of
+ * one pair of type bounds during incorporation (JLS 18.3), which is where deeply nested generic
+ * invocations explode. Once the step or time budget of {@link CompilerOptions} is exceeded the
+ * inference fails fast and a single error is reported against the outermost invocation.
+ */
+public class InferenceBudget {
+
+	/** Cost of one invocation, accumulated over all the times it was inferred. */
+	public static class Site {
+		public final String fileName;
+		public final int line;
+		public final String invocation;
+		public int attempts;
+		public long steps;
+		public long time; // ns
+
+		Site(String fileName, int line, String invocation) {
+			this.fileName = fileName;
+			this.line = line;
+			this.invocation = invocation;
+		}
+
+		@Override
+		public String toString() {
+			return this.fileName + ':' + this.line + ' ' + this.invocation;
+		}
+	}
+
+	private final CompilerOptions options;
+	private Map<String, Site> sites; // null unless recording
+
+	// state of the outermost inference in progress
+	private int depth;
+	private long steps;
+	private long start;
+	private long stepBudget;
+	private long timeBudget; // ns
+	private boolean exceeded;
+
+public InferenceBudget(CompilerOptions options) {
+	this.options = options;
+}
+
+/**
+ * Starts recording the cost of each invocation, see {@link #getMostExpensiveSites(int)}.
+ */
+public void recordSites() {
+	if (this.sites == null)
+		this.sites = new HashMap<>();
+}
+
+/**
+ * Called when the inference of an invocation starts, nested invocations are charged to the outermost one.
+ */
+public void start() {
+	if (this.depth++ > 0)
+		return;
+	this.steps = 0;
+	this.exceeded = false;
+	this.stepBudget = this.options.inferenceStepBudget;
+	this.timeBudget = this.options.inferenceTimeBudget * 1000000L;
+	this.start = System.nanoTime();
+}
+
+/**
+ * Charges the given number of incorporation steps to the inference in progress.
+ *
+ * @throws InferenceFailureException if the budget of the inference is exceeded
+ */
+public void incorporating(int pairs) throws InferenceFailureException {
+	if (this.depth == 0)
+		return; // not within an invocation, e.g. finishing the inference of a poly expression
+	this.steps += pairs;
+	if (!this.exceeded) {
+		if (this.stepBudget > 0 && this.steps > this.stepBudget)
+			this.exceeded = true;
+		else if (this.timeBudget > 0 && System.nanoTime() - this.start > this.timeBudget)
+			this.exceeded = true;
+	}
+	if (this.exceeded)
+		throw new InferenceFailureException("Type inference exceeded its budget"); //$NON-NLS-1$
+}
+
+/**
+ * Answers whether the budget of the inference in progress is exceeded, in which case the
+ * failures of the nested invocations should not be reported.
+ */
+public boolean isExceeded() {
+	return this.exceeded;
+}
+
+/**
+ * Called when the inference of an invocation ends. When the outermost inference ends, reports
+ * whether its budget was exceeded and records its cost.
+ */
+public void stop(Scope scope, InvocationSite site, MethodBinding method) {
+	if (--this.depth > 0)
+		return;
+	long time = System.nanoTime() - this.start;
+	if (this.exceeded) {
+		this.exceeded = false;
+		scope.problemReporter().genericInferenceError(
+			"Type inference of " + invocationName(method) + " exceeded its budget after " //$NON-NLS-1$ //$NON-NLS-2$
+			+ this.steps + " incorporation steps and " + time / 1000000 + " ms", //$NON-NLS-1$ //$NON-NLS-2$
+			site);
+	}
+	if (this.sites != null)
+		record(scope, site, method, time);
+}
+
+private void record(Scope scope, InvocationSite site, MethodBinding method, long time) {
+	CompilationUnitDeclaration unit = scope.referenceCompilationUnit();
+	String fileName = "?"; //$NON-NLS-1$
+	int line = 0;
+	if (unit != null) {
+		CompilationResult result = unit.compilationResult;
+		fileName = new String(result.getFileName());
+		int[] lineEnds = result.getLineSeparatorPositions();
+		line = Util.getLineNumber(site.sourceStart(), lineEnds, 0, lineEnds == null ? -1 : lineEnds.length - 1);
+	}
+	String key = fileName + ':' + site.sourceStart();
+	Site record = this.sites.get(key);
+	if (record == null)
+		this.sites.put(key, record = new Site(fileName, line, invocationName(method)));
+	record.attempts++;
+	record.steps += this.steps;
+	record.time += time;
+}
+
+private static String invocationName(MethodBinding method) {
+	if (method.isConstructor())
+		return "new " + new String(method.declaringClass.shortReadableName()); //$NON-NLS-1$
+	return new String(method.declaringClass.shortReadableName()) + '.' + new String(method.selector);
+}
+
+/**
+ * Answers the recorded invocations with the most incorporation steps, most expensive first.
+ */
+public List<Site> getMostExpensiveSites(int count) {
+	if (this.sites == null)
+		return new ArrayList<>();
+	List<Site> result = new ArrayList<>(this.sites.values());
+	result.sort((site1, site2) -> site1.steps != site2.steps
+			? Long.compare(site2.steps, site1.steps)
+			: Long.compare(site2.time, site1.time));
+	return result.size() > count ? new ArrayList<>(result.subList(0, count)) : result;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2019 GK Software AG, and others.
+ * Copyright (c) 2013, 2026 GK Software AG, and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1320,9 +1320,10 @@ public class InferenceContext18 {
 		//  all variables upon which the resolution of at least one variable in this set depends."
 		Set<InferenceVariable> v = new HashSet<>();
 		Map<InferenceVariable,Set<InferenceVariable>> dependencies = new HashMap<>(); // compute only once, store for the final loop over 'v'.
+		Map<InferenceVariable,List<InferenceVariable>> directDependencies = new HashMap<>(); // bounds don't change here, ask them only once per variable
 		for (InferenceVariable iv : subSet) {
 			Set<InferenceVariable> tmp = new HashSet<>();
-			addDependencies(bounds, tmp, iv);
+			addDependencies(bounds, tmp, iv, directDependencies);
 			dependencies.put(iv, tmp);
 			v.addAll(tmp);
 		}
@@ -1337,7 +1338,7 @@ public class InferenceContext18 {
 				// "... if αi depends on the resolution of a variable β, then either β has an instantiation or there is some j such that β = αj; ..."
 				Set<InferenceVariable> set = dependencies.get(currentVariable);
 				if (set == null) // not an element of the original subSet, still need to fetch this var's dependencies
-					addDependencies(bounds, set = new HashSet<>(), currentVariable);
+					addDependencies(bounds, set = new HashSet<>(), currentVariable, directDependencies);
 				//  "... and ii) there exists no non-empty proper subset of { α1, ..., αn } with this property."
 				int cur = set.size();
 				if (cur == 1)
@@ -1351,14 +1352,22 @@ public class InferenceContext18 {
 		return result;
 	}
 
-	private void addDependencies(BoundSet boundSet, Set<InferenceVariable> variableSet, InferenceVariable currentVariable) {
+	private void addDependencies(BoundSet boundSet, Set<InferenceVariable> variableSet, InferenceVariable currentVariable,
+			Map<InferenceVariable, List<InferenceVariable>> directDependencies) {
 		 // not added
 		if (boundSet.isInstantiated(currentVariable) || !variableSet.add(currentVariable)) return; // already present
-		for (InferenceVariable nextVariable : this.inferenceVariables) {
-			if (TypeBinding.equalsEquals(nextVariable, currentVariable)) continue;
-			if (boundSet.dependsOnResolutionOf(currentVariable, nextVariable))
-				addDependencies(boundSet, variableSet, nextVariable);
+		List<InferenceVariable> nextVariables = directDependencies.get(currentVariable);
+		if (nextVariables == null) {
+			nextVariables = new ArrayList<>();
+			for (InferenceVariable nextVariable : this.inferenceVariables) {
+				if (TypeBinding.equalsEquals(nextVariable, currentVariable)) continue;
+				if (boundSet.dependsOnResolutionOf(currentVariable, nextVariable))
+					nextVariables.add(nextVariable);
+			}
+			directDependencies.put(currentVariable, nextVariables);
 		}
+		for (InferenceVariable nextVariable : nextVariables)
+			addDependencies(boundSet, variableSet, nextVariable, directDependencies);
 	}
 
 	private ConstraintFormula pickFromCycle(Set<ConstraintFormula> c) {
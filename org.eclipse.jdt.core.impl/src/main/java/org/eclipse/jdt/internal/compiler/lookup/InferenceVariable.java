@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 GK Software AG.
+ * Copyright (c) 2013, 2026 GK Software AG and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -81,6 +81,7 @@ public class InferenceVariable extends TypeVariableBinding {
 	long nullHints; // one of TagBits.{AnnotationNonNull,AnnotationNullable} may steer inference into inferring nullness as well; set both bits to request avoidance.
 	private InferenceVariable prototype;
 	int varId; // this is used for constructing a source name like T#0.
+	private int hashCode; // computed lazily, typeParameter, rank and site never change
 	public boolean isFromInitialSubstitution; 	// further ivars created during 18.5.2 (for capture bounds) set this to false
 												// to mark that they don't participate in any theta substitution
 
@@ -204,12 +205,15 @@ public class InferenceVariable extends TypeVariableBinding {
 
 	@Override
 	public int hashCode() {
-		int code = this.typeParameter.hashCode() + 17 * this.rank;
-		if (this.site != null) {
-			code = 31 * code + this.site.sourceStart();
-			code = 31 * code + this.site.sourceEnd();
+		if (this.hashCode == 0) { // inference variables are hashed over and over while bounds are incorporated
+			int code = this.typeParameter.hashCode() + 17 * this.rank;
+			if (this.site != null) {
+				code = 31 * code + this.site.sourceStart();
+				code = 31 * code + this.site.sourceEnd();
+			}
+			this.hashCode = code;
 		}
-		return code;
+		return this.hashCode;
 	}
 	@Override
 	public boolean equals(Object obj) {
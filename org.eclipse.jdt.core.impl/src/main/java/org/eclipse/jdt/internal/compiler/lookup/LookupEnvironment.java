@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -137,6 +137,9 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 	/** Global access to the outermost active inference context as the universe for inference variable interning. */
 	InferenceContext18 currentInferenceContext;
 
+	/** Limits the work spent inferring the type of an invocation, see {@link CompilerOptions#inferenceStepBudget}. */
+	public final InferenceBudget inferenceBudget;	// SHARED
+
 	/**
 	 * Flag that should be set during annotation traversal or similar runs
 	 * to prevent caching of failures regarding imports of yet to be generated classes.
@@ -171,6 +174,7 @@ public LookupEnvironment(ITypeRequestor typeRequestor, CompilerOptions globalOpt
 	this.missingTypes = null;
 	this.accessRestrictions = new HashMap(3);
 	this.classFilePool = ClassFilePool.newInstance();
+	this.inferenceBudget = new InferenceBudget(globalOptions);
 	this.typesBeingConnected = new HashSet<>();
 	this.deferredEnumMethods = new ArrayList<>();
 	this.typeSystem = this.globalOptions.sourceLevel >= ClassFileConstants.JDK1_8 && this.globalOptions.storeAnnotations ? new AnnotatableTypeSystem(this) : new TypeSystem(this);
@@ -196,6 +200,7 @@ LookupEnvironment(LookupEnvironment rootEnv, ModuleBinding module) {
 	this.missingTypes = null;
 	this.accessRestrictions = new HashMap(3);
 	this.classFilePool = rootEnv.classFilePool;
+	this.inferenceBudget = rootEnv.inferenceBudget;
 	this.typesBeingConnected = rootEnv.typesBeingConnected;
 	this.deferredEnumMethods = rootEnv.deferredEnumMethods;
 	this.typeSystem = rootEnv.typeSystem;
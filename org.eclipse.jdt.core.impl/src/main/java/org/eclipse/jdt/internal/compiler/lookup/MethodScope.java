@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  * Copyright (c) 2000, 2021 IBM Corporation and others.
+ *  * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -562,30 +562,23 @@ public final int recordInitializationStates(FlowInfo flowInfo) {
 
 	// add a new entry
 	if (this.definiteInits.length == this.lastIndex) {
-		// need a resize
+		// need a resize, grown geometrically since large methods record thousands of states
+		int newLength = this.lastIndex * 2 + 20;
 		System.arraycopy(
 			this.definiteInits,
 			0,
-			this.definiteInits = new long[this.lastIndex + 20],
+			this.definiteInits = new long[newLength],
 			0,
 			this.lastIndex);
 		System.arraycopy(
 			this.extraDefiniteInits,
 			0,
-			this.extraDefiniteInits = new long[this.lastIndex + 20][],
+			this.extraDefiniteInits = new long[newLength][],
 			0,
 			this.lastIndex);
 	}
 	this.definiteInits[this.lastIndex] = inits;
-	if (extraInits != null) {
-		this.extraDefiniteInits[this.lastIndex] = new long[extraInits.length];
-		System.arraycopy(
-			extraInits,
-			0,
-			this.extraDefiniteInits[this.lastIndex],
-			0,
-			extraInits.length);
-	}
+	this.extraDefiniteInits[this.lastIndex] = unconditionalFlowInfo.shareExtraDefiniteInits(); // copied on write by the flow info
 	return this.lastIndex++;
 }
 
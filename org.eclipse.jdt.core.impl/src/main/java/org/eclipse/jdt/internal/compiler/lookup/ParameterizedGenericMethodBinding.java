@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -230,6 +230,8 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 		InferenceContext18 previousContext = environment.currentInferenceContext;
 		if (previousContext == null)
 			environment.currentInferenceContext = infCtx18;
+		InferenceBudget budget = environment.inferenceBudget;
+		budget.start();
 		try {
 			BoundSet provisionalResult = null;
 			BoundSet result = null;
@@ -303,10 +305,12 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 			return null;
 		} catch (InferenceFailureException e) {
 			// FIXME stop-gap measure
-			scope.problemReporter().genericInferenceError(e.getMessage(), invocationSite);
+			if (!budget.isExceeded()) // reported once against the outermost invocation
+				scope.problemReporter().genericInferenceError(e.getMessage(), invocationSite);
 			return null;
 		} finally {
 			environment.currentInferenceContext = previousContext;
+			budget.stop(scope, invocationSite, originalMethod);
 		}
 	}
 
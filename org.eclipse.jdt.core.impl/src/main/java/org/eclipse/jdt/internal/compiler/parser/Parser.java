@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,12 +31,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.parser;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -393,6 +393,26 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		}
 		System.out.println(filename + " creation complete"); //$NON-NLS-1$
 	}
+	/**
+	 * Concatenates the table files <code>prefix1.rsc</code> to <code>prefixN.rsc</code> into the file
+	 * <code>prefix.rsc</code> read by {@link #initTables()}, each table being preceded by its length in bytes.
+	 */
+	private final static void buildFileForTables(String prefix, int count) {
+		java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+		try (java.io.DataOutputStream stream = new java.io.DataOutputStream(bytes)) {
+			for (int i = 1; i <= count; i++) {
+				File file = new File(prefix + i + ".rsc"); //$NON-NLS-1$
+				byte[] table = Util.getFileByteContent(file);
+				stream.writeInt(table.length);
+				stream.write(table);
+				file.delete();
+			}
+		} catch (IOException e) {
+			System.out.println(e.getMessage());
+			return;
+		}
+		buildFileForTable(prefix + ".rsc", bytes.toByteArray()); //$NON-NLS-1$
+	}
 	private final static byte[] buildFileOfByteFor(String filename, String tag, String[] tokens) {
 
 		//transform the String tokens into chars before dumping then into file
@@ -453,7 +473,7 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		String token;
 		while (!(token = tokens[i++]).equals("}")) { //$NON-NLS-1$
 			int c = Integer.parseInt(token);
-			chars[ic++] = (char) (c + 32768);
+			chars[ic++] = (char) c; // two's complement, read back as a short
 		}
 
 		//resize
@@ -612,26 +632,20 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 				newLhs,
 				tokens);
 
+		buildFileForTables(prefix, i);
 
 		System.out.println(Messages.parser_moveFiles);
 	}
 	protected static int[] computeReverseTable(char[] newTerminalIndex, char[] newNonTerminalIndex, String[] newName) {
+		// the first terminal having a given symbol wins, then the first non terminal
 		int[] newReverseTable = new int[newName.length];
-		for (int j = 0; j < newName.length; j++) {
-			found : {
-				for (int k = 0; k < newTerminalIndex.length; k++) {
-					if(newTerminalIndex[k] == j) {
-						newReverseTable[j] = k;
-						break found;
-					}
-				}
-				for (int k = 0; k < newNonTerminalIndex.length; k++) {
-					if(newNonTerminalIndex[k] == j) {
-						newReverseTable[j] = -k;
-						break found;
-					}
-				}
-			}
+		for (int k = newNonTerminalIndex.length; k-- > 0;) {
+			if (newNonTerminalIndex[k] < newName.length)
+				newReverseTable[newNonTerminalIndex[k]] = -k;
+		}
+		for (int k = newTerminalIndex.length; k-- > 0;) {
+			if (newTerminalIndex[k] < newName.length)
+				newReverseTable[newTerminalIndex[k]] = k;
 		}
 		return newReverseTable;
 	}
@@ -649,46 +663,51 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	}
 	public final static void initTables() throws java.io.IOException {
 
-		final String prefix = FILEPREFIX;
-		int i = 0;
-		lhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		char[] chars = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		check_table = new short[chars.length];
-		for (int c = chars.length; c-- > 0;) {
-			check_table[c] = (short) (chars[c] - 32768);
-		}
-		asb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		asr = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		nasb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		nasr = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		terminal_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		non_terminal_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		term_action = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		scope_prefix = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_suffix = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_lhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_state_set = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_rhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_state = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		in_symb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		rhs = readByteTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		term_check = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_la = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		name = readNameTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		rules_compliance = readLongTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		// every table is read from one resource, see buildFileForTables(String, int)
+		final String filename = FILEPREFIX + ".rsc"; //$NON-NLS-1$
+		byte[] bytes;
+		try (InputStream stream = Parser.class.getResourceAsStream(filename)) {
+			if (stream == null) {
+				throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
+			}
+			bytes = Util.getInputStreamAsByteArray(stream);
+		}
+		ByteBuffer tables = ByteBuffer.wrap(bytes);
+
+		lhs = readTable(tables, filename);
+		check_table = readShortTable(tables, filename);
+		asb = readTable(tables, filename);
+		asr = readTable(tables, filename);
+		nasb = readTable(tables, filename);
+		nasr = readTable(tables, filename);
+		terminal_index = readTable(tables, filename);
+		non_terminal_index = readTable(tables, filename);
+		term_action = readTable(tables, filename);
+
+		scope_prefix = readTable(tables, filename);
+		scope_suffix = readTable(tables, filename);
+		scope_lhs = readTable(tables, filename);
+		scope_state_set = readTable(tables, filename);
+		scope_rhs = readTable(tables, filename);
+		scope_state = readTable(tables, filename);
+		in_symb = readTable(tables, filename);
+
+		rhs = readByteTable(tables, filename);
+		term_check = readTable(tables, filename);
+		scope_la = readTable(tables, filename);
+
+		name = readNameTable(tables, filename);
+
+		rules_compliance = readLongTable(tables, filename);
 
 		readableName = readReadableNameTable(READABLE_NAMES_FILE + ".props"); //$NON-NLS-1$
 
 		reverse_index = computeReverseTable(terminal_index, non_terminal_index, name);
 
-		recovery_templates_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		recovery_templates = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		recovery_templates_index = readTable(tables, filename);
+		recovery_templates = readTable(tables, filename);
 
-		statements_recovery_filter = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		statements_recovery_filter = readTable(tables, filename);
 
 		base_action = lhs;
 	}
@@ -702,76 +721,40 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		return -base_check(state);
 	}
 
-	protected static byte[] readByteTable(String filename) throws java.io.IOException {
-
-		//files are located at Parser.class directory
-
-		InputStream stream = Parser.class.getResourceAsStream(filename);
-		if (stream == null) {
-			throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
-		}
-		byte[] bytes = null;
-		try {
-			stream = new BufferedInputStream(stream);
-			bytes = Util.getInputStreamAsByteArray(stream);
-		} finally {
-			try {
-				stream.close();
-			} catch (IOException e) {
-				// ignore
-			}
-		}
+	/**
+	 * Answers the length in bytes of the next table of the given tables, and checks that it is made of
+	 * complete elements of the given size.
+	 */
+	private static int readTableLength(ByteBuffer tables, int elementSize, String filename) throws java.io.IOException {
+		int length = tables.remaining() < 4 ? -1 : tables.getInt();
+		//minimal integrity check
+		if (length < 0 || length > tables.remaining() || length % elementSize != 0)
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+		return length;
+	}
+	protected static byte[] readByteTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		byte[] bytes = new byte[readTableLength(tables, 1, filename)];
+		tables.get(bytes);
 		return bytes;
 	}
-	protected static long[] readLongTable(String filename) throws java.io.IOException {
-
-		//files are located at Parser.class directory
-
-		InputStream stream = Parser.class.getResourceAsStream(filename);
-		if (stream == null) {
-			throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
-		}
-		byte[] bytes = null;
-		try {
-			stream = new BufferedInputStream(stream);
-			bytes = Util.getInputStreamAsByteArray(stream);
-		} finally {
-			try {
-				stream.close();
-			} catch (IOException e) {
-				// ignore
-			}
-		}
-
-		//minimal integrity check (even size expected)
-		int length = bytes.length;
-		if (length % 8 != 0)
-			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
-
+	protected static short[] readShortTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		int length = readTableLength(tables, 2, filename);
+		short[] shorts = new short[length / 2];
+		tables.asShortBuffer().get(shorts);
+		tables.position(tables.position() + length);
+		return shorts;
+	}
+	protected static long[] readLongTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		int length = readTableLength(tables, 8, filename);
 		// convert bytes into longs
 		long[] longs = new long[length / 8];
-		int i = 0;
-		int longIndex = 0;
-
-		while (true) {
-			longs[longIndex++] =
-			  ((long) (bytes[i++] & 0xFF) << 56)
-			+ ((long) (bytes[i++] & 0xFF) << 48)
-			+ ((long) (bytes[i++] & 0xFF) << 40)
-			+ ((long) (bytes[i++] & 0xFF) << 32)
-			+ ((long) (bytes[i++] & 0xFF) << 24)
-			+ ((long) (bytes[i++] & 0xFF) << 16)
-			+ ((long) (bytes[i++] & 0xFF) << 8)
-			+ (bytes[i++] & 0xFF);
-
-			if (i == length)
-				break;
-		}
+		tables.asLongBuffer().get(longs);
+		tables.position(tables.position() + length);
 		return longs;
 	}
 
-	protected static String[] readNameTable(String filename) throws java.io.IOException {
-		char[] contents = readTable(filename);
+	protected static String[] readNameTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		char[] contents = readTable(tables, filename);
 		char[][] nameAsChar = CharOperation.splitOn('\n', contents);
 
 		String[] result = new String[nameAsChar.length + 1];
@@ -802,41 +785,12 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		}
 		return result;
 	}
-	protected static char[] readTable(String filename) throws java.io.IOException {
-
-		//files are located at Parser.class directory
-
-		InputStream stream = Parser.class.getResourceAsStream(filename);
-		if (stream == null) {
-			throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
-		}
-		byte[] bytes = null;
-		try {
-			stream = new BufferedInputStream(stream);
-			bytes = Util.getInputStreamAsByteArray(stream);
-		} finally {
-			try {
-				stream.close();
-			} catch (IOException e) {
-				// ignore
-			}
-		}
-
-		//minimal integrity check (even size expected)
-		int length = bytes.length;
-		if ((length & 1) != 0)
-			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
-
+	protected static char[] readTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		int length = readTableLength(tables, 2, filename);
 		// convert bytes into chars
 		char[] chars = new char[length / 2];
-		int i = 0;
-		int charIndex = 0;
-
-		while (true) {
-			chars[charIndex++] = (char) (((bytes[i++] & 0xFF) << 8) + (bytes[i++] & 0xFF));
-			if (i == length)
-				break;
-		}
+		tables.asCharBuffer().get(chars);
+		tables.position(tables.position() + length);
 		return chars;
 	}
 	public static int tAction(int state, int sym) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -151,6 +151,26 @@ public class Scanner implements TerminalTokens {
 	public static final String INVALID_DIGIT = "Invalid_Digit"; //$NON-NLS-1$
 	private static final int[] EMPTY_LINE_ENDS = Util.EMPTY_INT_ARRAY;
 
+	/*
+	 * Runs of characters which need no special treatment are jumped over at once, instead of going through the
+	 * unicode escape checks of each character: a run stops on a backslash, which may start a unicode escape, on a
+	 * line break, which may have to be recorded, and on the characters which matter in the body being scanned.
+	 */
+	private static final int PLAIN_IN_LINE_COMMENT = 1;
+	private static final int PLAIN_IN_BLOCK_COMMENT = 2;
+	private static final int PLAIN_IN_STRING = 4;
+	private static final byte[] PLAIN_CHARACTERS = new byte[ScannerHelper.MAX_OBVIOUS];
+	static {
+		Arrays.fill(PLAIN_CHARACTERS, (byte) (PLAIN_IN_LINE_COMMENT | PLAIN_IN_BLOCK_COMMENT | PLAIN_IN_STRING));
+		PLAIN_CHARACTERS['\\'] = 0;
+		PLAIN_CHARACTERS['\r'] = 0;
+		PLAIN_CHARACTERS['\n'] = 0;
+		PLAIN_CHARACTERS['*'] &= ~PLAIN_IN_BLOCK_COMMENT;
+		PLAIN_CHARACTERS['/'] &= ~PLAIN_IN_BLOCK_COMMENT;
+		PLAIN_CHARACTERS['@'] &= ~PLAIN_IN_BLOCK_COMMENT;
+		PLAIN_CHARACTERS['"'] &= ~PLAIN_IN_STRING;
+	}
+
 	public static final String INVALID_BINARY = "Invalid_Binary_Literal"; //$NON-NLS-1$
 	public static final String BINARY_LITERAL_NOT_BELOW_17 = "Binary_Literal_Not_Below_17"; //$NON-NLS-1$
 	public static final String ILLEGAL_HEXA_LITERAL = "Illegal_Hexa_Literal"; //$NON-NLS-1$
@@ -1453,6 +1473,7 @@ protected int getNextToken0() throws InvalidInputException {
 				}
 				if (isWhiteSpace) {
 					hasWhiteSpaces = true;
+					this.currentPosition = skipSpacesAndTabs(this.currentPosition);
 				}
 			} while (isWhiteSpace);
 			if (hasWhiteSpaces) {
@@ -1697,6 +1718,11 @@ protected int getNextToken0() throws InvalidInputException {
                                 	this.currentPosition++; //jump over the \\
 								boolean isUnicode = false;
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
+									int end = skipPlainCharacters(this.currentPosition, this.eofPosition, PLAIN_IN_LINE_COMMENT);
+									if (end != this.currentPosition) {
+										this.currentCharacter = this.source[end - 1];
+										this.currentPosition = end;
+									}
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
 										this.currentPosition ++;
@@ -1833,6 +1859,11 @@ protected int getNextToken0() throws InvalidInputException {
 										default:
 											star = false;
 									}
+									int end = skipPlainCharacters(this.currentPosition, this.eofPosition - 1, PLAIN_IN_BLOCK_COMMENT);
+									if (end != this.currentPosition) {
+										star = false;
+										this.currentPosition = end;
+									}
 									//get next char
 									previous = this.currentPosition;
 									if ((this.currentCharacter = this.source[this.currentPosition++]) == '\\'
@@ -2006,6 +2037,9 @@ private int scanForStringLiteral() throws InvalidInputException {
     				unicodeStore();
     			}
     		}
+    		// jump over the plain characters of the literal, unless they have to be copied to the unicode buffer
+    		if (this.withoutUnicodePtr == 0)
+    			this.currentPosition = skipPlainCharacters(this.currentPosition, this.eofPosition - 1, PLAIN_IN_STRING);
     		// consume next character
     		this.unicodeAsBackSlash = false;
     		if ((this.currentCharacter = this.source[this.currentPosition++]) == '\\'
@@ -2205,6 +2239,37 @@ public char[] getSource(){
 protected boolean isFirstTag() {
 	return true;
 }
+/*
+ * Answers the position of the first character between the given positions which is not plain in the given kind
+ * of body, or the end position.
+ */
+private int skipPlainCharacters(int position, int end, int kind) {
+	char[] src = this.source;
+	if (end > src.length)
+		end = src.length;
+	while (position < end) {
+		char c = src[position];
+		if (c < ScannerHelper.MAX_OBVIOUS && (PLAIN_CHARACTERS[c] & kind) == 0)
+			break;
+		position++;
+	}
+	return position;
+}
+/*
+ * Answers the position of the first character from the given position which is neither a space, a tab nor
+ * a form feed, i.e. the end of an indentation.
+ */
+private int skipSpacesAndTabs(int position) {
+	char[] src = this.source;
+	int end = Math.min(this.eofPosition, src.length);
+	while (position < end) {
+		char c = src[position];
+		if (c != ' ' && c != '\t' && c != '\f')
+			break;
+		position++;
+	}
+	return position;
+}
 public final void jumpOverMethodBody() {
 
 	this.wasAcr = false;
@@ -2226,6 +2291,8 @@ public final void jumpOverMethodBody() {
 					}
 					isWhiteSpace = CharOperation.isWhitespace(this.currentCharacter);
 				}
+				if (isWhiteSpace)
+					this.currentPosition = skipSpacesAndTabs(this.currentPosition);
 			} while (isWhiteSpace);
 
 			// -------consume token until } is found---------
@@ -2352,6 +2419,8 @@ public final void jumpOverMethodBody() {
 									// ignore
 								}
 							}
+							if (this.withoutUnicodePtr == 0)
+								this.currentPosition = skipPlainCharacters(this.currentPosition, this.eofPosition, PLAIN_IN_STRING);
 							try { // consume next character
 								this.unicodeAsBackSlash = false;
 								if ((this.currentCharacter = this.source[this.currentPosition++]) == '\\'
@@ -2388,6 +2457,11 @@ public final void jumpOverMethodBody() {
                                 	this.currentPosition++; //jump over the \\
 								boolean isUnicode = false;
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
+									int end = skipPlainCharacters(this.currentPosition, this.eofPosition, PLAIN_IN_LINE_COMMENT);
+									if (end != this.currentPosition) {
+										this.currentCharacter = this.source[end - 1];
+										this.currentPosition = end;
+									}
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
 										this.currentPosition ++;
@@ -2520,6 +2594,11 @@ public final void jumpOverMethodBody() {
 										default:
 											star = false;
 									}
+									int end = skipPlainCharacters(this.currentPosition, this.eofPosition - 1, PLAIN_IN_BLOCK_COMMENT);
+									if (end != this.currentPosition) {
+										star = false;
+										this.currentPosition = end;
+									}
 									//get next char
 									previous = this.currentPosition;
 									if ((this.currentCharacter = this.source[this.currentPosition++]) == '\\'
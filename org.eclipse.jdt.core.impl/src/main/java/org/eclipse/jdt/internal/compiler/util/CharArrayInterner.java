@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Thread safe set of char[] used to share equal names between the threads of the compiler, the indexer
+ * and the Java model, e.g. the selectors and field names read from class files or the category names of
+ * the indexes. Interned arrays are only weakly referenced, so names which are no longer used anywhere else
+ * are garbage collected.
+ * <p>
+ * The set is split in independently locked stripes, so that concurrent threads rarely wait for each other,
+ * and its size is bounded: once a stripe is full, new names are answered as is until some of its names
+ * are garbage collected. The bound of the {@link #SHARED} set is given by the
+ * <code>jdt.compiler.internedNames</code> system property.
+ * <p>
+ * Each new name costs a weak reference, so only names that live long are worth interning. The short
+ * lived tokens of the scanners are deduplicated by the per thread {@link CharDeduplication} instead.
+ */
+public class CharArrayInterner {
+
+	public static final CharArrayInterner SHARED = new CharArrayInterner(Integer.getInteger("jdt.compiler.internedNames", 1 << 18).intValue()); //$NON-NLS-1$
+
+	private static final int STRIPE_BITS = 6;
+	private static final int STRIPE_COUNT = 1 << STRIPE_BITS;
+
+	private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+	private static final class Entry extends WeakReference<char[]> {
+		final int hash;
+		Entry next;
+
+		Entry(char[] referent, int hash, Entry next, ReferenceQueue<char[]> queue) {
+			super(referent, queue);
+			this.hash = hash;
+			this.next = next;
+		}
+	}
+
+	private static final class Stripe {
+		private final ReferenceQueue<char[]> queue = new ReferenceQueue<>();
+		private final int maxSize;
+		private Entry[] buckets = new Entry[16]; // length is a power of 2, indexed by the bits of the hash above STRIPE_BITS
+		int size;
+		long hits;
+		long misses;
+		long rejected;
+		long collected;
+
+		Stripe(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		synchronized char[] intern(char[] array, int hash) {
+			expungeCollectedEntries();
+			int index = (hash >>> STRIPE_BITS) & (this.buckets.length - 1);
+			for (Entry entry = this.buckets[index]; entry != null; entry = entry.next) {
+				if (entry.hash == hash) {
+					char[] existing = entry.get();
+					if (existing != null && CharOperation.equals(existing, array)) {
+						this.hits++;
+						return existing;
+					}
+				}
+			}
+			this.misses++;
+			if (this.size >= this.maxSize) {
+				this.rejected++;
+				return array;
+			}
+			this.buckets[index] = new Entry(array, hash, this.buckets[index], this.queue);
+			if (++this.size > this.buckets.length - (this.buckets.length >>> 2))
+				rehash();
+			return array;
+		}
+
+		private void expungeCollectedEntries() {
+			Entry collectedEntry;
+			while ((collectedEntry = (Entry) this.queue.poll()) != null) {
+				int index = (collectedEntry.hash >>> STRIPE_BITS) & (this.buckets.length - 1);
+				Entry previous = null;
+				for (Entry entry = this.buckets[index]; entry != null; previous = entry, entry = entry.next) {
+					if (entry == collectedEntry) {
+						if (previous == null)
+							this.buckets[index] = entry.next;
+						else
+							previous.next = entry.next;
+						this.size--;
+						this.collected++;
+						break;
+					}
+				}
+			}
+		}
+
+		private void rehash() {
+			Entry[] newBuckets = new Entry[this.buckets.length * 2];
+			int mask = newBuckets.length - 1;
+			for (Entry entry : this.buckets) {
+				while (entry != null) {
+					Entry next = entry.next;
+					int index = (entry.hash >>> STRIPE_BITS) & mask;
+					entry.next = newBuckets[index];
+					newBuckets[index] = entry;
+					entry = next;
+				}
+			}
+			this.buckets = newBuckets;
+		}
+	}
+
+/**
+ * Creates a set holding at most about the given number of names.
+ */
+public CharArrayInterner(int maxSize) {
+	int stripeSize = Math.max(1, maxSize / STRIPE_COUNT);
+	for (int i = 0; i < STRIPE_COUNT; i++)
+		this.stripes[i] = new Stripe(stripeSize);
+}
+
+/**
+ * Answers the interned array equal to the given array, or the given array itself if there is none
+ * yet (it is then interned, unless the set is full). The given array must not be modified afterwards.
+ */
+public char[] intern(char[] array) {
+	if (array == null)
+		return null;
+	if (array.length == 0)
+		return CharOperation.NO_CHAR;
+	int hash = CharOperation.hashCode(array);
+	hash ^= hash >>> 16; // the low bits select the stripe
+	return this.stripes[hash & (STRIPE_COUNT - 1)].intern(array, hash);
+}
+
+/**
+ * Answers the number of names currently interned, including the ones garbage collected since the last
+ * lookup of their stripe.
+ */
+public int size() {
+	int size = 0;
+	for (Stripe stripe : this.stripes) {
+		synchronized (stripe) {
+			size += stripe.size;
+		}
+	}
+	return size;
+}
+
+/**
+ * Answers the number of lookups which found an interned array, and the number of lookups which did not.
+ */
+public long[] getHitAndMissCounts() {
+	long[] counts = new long[2];
+	for (Stripe stripe : this.stripes) {
+		synchronized (stripe) {
+			counts[0] += stripe.hits;
+			counts[1] += stripe.misses;
+		}
+	}
+	return counts;
+}
+
+@Override
+public String toString() {
+	int size = 0;
+	long hits = 0, misses = 0, rejected = 0, collected = 0;
+	for (Stripe stripe : this.stripes) {
+		synchronized (stripe) {
+			size += stripe.size;
+			hits += stripe.hits;
+			misses += stripe.misses;
+			rejected += stripe.rejected;
+			collected += stripe.collected;
+		}
+	}
+	long lookups = hits + misses;
+	return "CharArrayInterner: " + size + " names, " //$NON-NLS-1$ //$NON-NLS-2$
+		+ lookups + " lookups, " //$NON-NLS-1$
+		+ (lookups == 0 ? 0 : hits * 100 / lookups) + "% hits, " //$NON-NLS-1$
+		+ rejected + " rejected when full, " //$NON-NLS-1$
+		+ collected + " garbage collected"; //$NON-NLS-1$
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2020 IBM Corporation.
+ * Copyright (c) 2015, 2026 IBM Corporation.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -146,6 +146,19 @@ public class JRTUtil {
 		return ctSym;
 	}
 
+	/**
+	 * Closes and forgets all the cached images and ct.sym files, so that they are opened again when next
+	 * needed, e.g. after the JDK they were read from was updated. Must not be called while they are read.
+	 */
+	public static void resetCaches() {
+		for (Optional<JrtFileSystem> image : images.values())
+			image.ifPresent(JrtFileSystem::close);
+		images.clear();
+		for (CtSym ctSym : ctSymFiles.values())
+			JrtFileSystem.close(ctSym.getFs());
+		ctSymFiles.clear();
+	}
+
 	/** TEST ONLY (use when changing the "modules.to.load" property). */
 	public static void reset() {
 		images.clear();
@@ -385,6 +398,18 @@ class JrtFileSystem {
 		walkJrtForModules();
 	}
 
+	void close() {
+		close(this.fs);
+	}
+
+	static void close(FileSystem fileSystem) {
+		try {
+			fileSystem.close();
+		} catch (IOException | UnsupportedOperationException e) {
+			// the file system of the running JDK cannot be closed
+		}
+	}
+
 	public List<String> getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
 		qualifiedPackageName = qualifiedPackageName.replace('.', '/');
 		String module = this.packageToModule.get(qualifiedPackageName);
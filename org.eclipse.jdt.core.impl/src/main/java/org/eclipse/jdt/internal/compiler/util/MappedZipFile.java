@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read only view of a zip file mapped in memory, used to read the content of class files without the
+ * intermediate streams and buffers of {@link java.util.zip.ZipFile}: stored entries are copied straight
+ * from the mapping and deflated entries are copied to a pooled heap buffer, then inflated into their
+ * final array, using pooled inflaters.
+ * <p>
+ * Only the central directory is decoded. Zip64 and encrypted entries are not supported: {@link #open(File)}
+ * answers <code>null</code> for such zip files so that callers fall back to {@link java.util.zip.ZipFile}.
+ * <p>
+ * Mapping is opt-in, with the <code>jdt.compiler.mapZipFiles</code> system property: a zip file which is
+ * truncated or rewritten in place while it is mapped faults the reads from the mapping, and a mapped file
+ * cannot be deleted on Windows until the mapping is garbage collected. It is meant for batch compilations
+ * of jars which do not change while they are compiled against.
+ */
+public class MappedZipFile {
+
+	public static final boolean ENABLED = Boolean.getBoolean("jdt.compiler.mapZipFiles"); //$NON-NLS-1$
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_SIZE = 22;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	private static final int MAX_POOLED_INFLATERS = 16;
+	private static final int MAX_POOLED_INPUT = 1 << 20;
+	private static final ArrayDeque<PooledInflater> INFLATERS = new ArrayDeque<>();
+
+	private final ByteBuffer buffer; // little endian, only accessed with absolute positions
+	private final int base; // position of the zip content, non zero for jmod files and other prefixed zip files
+	private final Map<String, Integer> entries; // name -> position of the central directory header
+
+	private static class PooledInflater {
+		final Inflater inflater = new Inflater(true);
+		byte[] input = new byte[8192]; // copy of the compressed content, grown as needed
+	}
+
+private MappedZipFile(ByteBuffer buffer, int base, Map<String, Integer> entries) {
+	this.buffer = buffer;
+	this.base = base;
+	this.entries = entries;
+}
+
+/**
+ * Maps the given zip file.
+ *
+ * @return the mapped zip file, or <code>null</code> if mapping is disabled or the zip file cannot be mapped
+ */
+public static MappedZipFile open(File file) {
+	if (!ENABLED)
+		return null;
+	try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+		long size = channel.size();
+		if (size < END_SIZE || size > Integer.MAX_VALUE)
+			return null;
+		ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+		return readCentralDirectory(buffer);
+	} catch (IOException | RuntimeException e) {
+		return null; // let the caller use a regular zip file
+	}
+}
+
+private static MappedZipFile readCentralDirectory(ByteBuffer buffer) {
+	int end = buffer.limit() - END_SIZE;
+	int min = Math.max(0, end - 0xFFFF); // skip the zip file comment
+	while (end >= min && buffer.getInt(end) != END_SIGNATURE)
+		end--;
+	if (end < min)
+		return null;
+	int count = buffer.getShort(end + 10) & 0xFFFF;
+	long centralDirectorySize = buffer.getInt(end + 12) & 0xFFFFFFFFL;
+	long centralDirectoryOffset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+	if (count == 0xFFFF || centralDirectoryOffset == 0xFFFFFFFFL)
+		return null; // zip64
+	long base = end - centralDirectorySize - centralDirectoryOffset;
+	if (base < 0)
+		return null;
+	Map<String, Integer> entries = new HashMap<>(count * 4 / 3 + 1);
+	int position = (int) (base + centralDirectoryOffset);
+	for (int i = 0; i < count; i++) {
+		if (position + CENTRAL_HEADER_SIZE > end || buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE)
+			return null;
+		int flags = buffer.getShort(position + 8) & 0xFFFF;
+		if ((flags & 1) != 0)
+			return null; // encrypted
+		int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+		int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+		int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+		byte[] name = new byte[nameLength];
+		buffer.get(position + CENTRAL_HEADER_SIZE, name);
+		entries.putIfAbsent(new String(name, StandardCharsets.UTF_8), Integer.valueOf(position));
+		position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+	}
+	return new MappedZipFile(buffer, (int) base, entries);
+}
+
+public boolean hasEntry(String name) {
+	return this.entries.containsKey(name);
+}
+
+public Set<String> getEntryNames() {
+	return Collections.unmodifiableSet(this.entries.keySet());
+}
+
+/**
+ * Answers the uncompressed content of the given entry, or <code>null</code> if there is no such entry.
+ */
+public byte[] getBytes(String name) throws IOException {
+	Integer header = this.entries.get(name);
+	if (header == null)
+		return null;
+	int position = header.intValue();
+	int method = this.buffer.getShort(position + 10) & 0xFFFF;
+	long compressedSize = this.buffer.getInt(position + 20) & 0xFFFFFFFFL;
+	long size = this.buffer.getInt(position + 24) & 0xFFFFFFFFL;
+	long localHeader = this.base + (this.buffer.getInt(position + 42) & 0xFFFFFFFFL);
+	if (localHeader + LOCAL_HEADER_SIZE > this.buffer.limit()
+			|| this.buffer.getInt((int) localHeader) != LOCAL_HEADER_SIGNATURE || size > Integer.MAX_VALUE - 8)
+		throw new IOException("Invalid zip entry: " + name); //$NON-NLS-1$
+	int data = (int) localHeader + LOCAL_HEADER_SIZE
+			+ (this.buffer.getShort((int) localHeader + 26) & 0xFFFF)
+			+ (this.buffer.getShort((int) localHeader + 28) & 0xFFFF);
+	if (data + compressedSize > this.buffer.limit())
+		throw new IOException("Invalid zip entry: " + name); //$NON-NLS-1$
+
+	byte[] bytes = new byte[(int) size];
+	try {
+		return read(name, method, data, compressedSize, bytes);
+	} catch (InternalError e) {
+		// the file was truncated while it is mapped
+		throw new IOException("Cannot read zip entry: " + name, e); //$NON-NLS-1$
+	}
+}
+
+private byte[] read(String name, int method, int data, long compressedSize, byte[] bytes) throws IOException {
+	switch (method) {
+		case STORED :
+			if (compressedSize != bytes.length)
+				throw new IOException("Invalid zip entry: " + name); //$NON-NLS-1$
+			this.buffer.get(data, bytes);
+			return bytes;
+		case DEFLATED :
+			// an extra byte of input is expected by inflaters in nowrap mode, the central directory always follows
+			int inputLength = (int) Math.min(compressedSize + 1, this.buffer.limit() - data);
+			PooledInflater pooled = getInflater();
+			Inflater inflater = pooled.inflater;
+			try {
+				// copy the input first, a fault while the native inflater reads the mapping would crash the VM
+				if (pooled.input.length < inputLength)
+					pooled.input = new byte[Math.max(inputLength, pooled.input.length * 2)];
+				this.buffer.get(data, pooled.input, 0, inputLength);
+				inflater.setInput(pooled.input, 0, inputLength);
+				int length = 0;
+				while (length < bytes.length) {
+					int read = inflater.inflate(bytes, length, bytes.length - length);
+					if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+						throw new IOException("Truncated zip entry: " + name); //$NON-NLS-1$
+					length += read;
+				}
+				return bytes;
+			} catch (DataFormatException e) {
+				throw new IOException("Invalid zip entry: " + name, e); //$NON-NLS-1$
+			} finally {
+				releaseInflater(pooled);
+			}
+		default :
+			throw new IOException("Unsupported compression method for zip entry: " + name); //$NON-NLS-1$
+	}
+}
+
+private static PooledInflater getInflater() {
+	synchronized (INFLATERS) {
+		PooledInflater inflater = INFLATERS.poll();
+		if (inflater != null)
+			return inflater;
+	}
+	return new PooledInflater();
+}
+
+private static void releaseInflater(PooledInflater pooled) {
+	pooled.inflater.reset();
+	if (pooled.input.length > MAX_POOLED_INPUT)
+		pooled.input = new byte[8192]; // don't retain the buffer of an unusually large entry
+	synchronized (INFLATERS) {
+		if (INFLATERS.size() < MAX_POOLED_INFLATERS) {
+			INFLATERS.push(pooled);
+			return;
+		}
+	}
+	pooled.inflater.end();
+}
+}
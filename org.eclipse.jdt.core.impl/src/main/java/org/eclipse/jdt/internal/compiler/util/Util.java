@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,6 @@
 package org.eclipse.jdt.internal.compiler.util;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -26,11 +25,14 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -234,7 +236,6 @@ public class Util implements SuffixConstants {
 		String displayString(Object o);
 	}
 
-	private static final int DEFAULT_WRITING_SIZE = 1024;
 	public final static String UTF_8 = "UTF-8";	//$NON-NLS-1$
 	public static final String LINE_SEPARATOR = System.lineSeparator();
 
@@ -406,18 +407,54 @@ public class Util implements SuffixConstants {
 	 * @throws IOException if a problem occured reading the file.
 	 */
 	public static char[] getFileCharContent(File file, String encoding) throws IOException {
-		InputStream stream = null;
-		try {
-			stream = new FileInputStream(file);
-			return getInputStreamAsCharArray(stream, encoding);
-		} finally {
-			if (stream != null) {
+		// read through a stream rather than a channel, a channel is closed when the reading thread is interrupted
+		long size = file.length();
+		if (size <= MAX_READ_BUFFER_SIZE) {
+			try (InputStream stream = new FileInputStream(file)) {
+				// read the whole file at once into a pooled buffer, instead of growing a new array for each file
+				ByteBuffer buffer = acquireReadBuffer((int) size);
 				try {
-					stream.close();
-				} catch (IOException e) {
-					// ignore
+					byte[] bytes = buffer.array();
+					int length = 0;
+					for (int read; length < size && (read = stream.read(bytes, length, (int) size - length)) > 0;)
+						length += read;
+					if (length < size || stream.read() < 0) {
+						buffer.limit(length);
+						return decode(buffer, getCharset(encoding));
+					}
+				} finally {
+					releaseReadBuffer(buffer);
 				}
 			}
+			// the file grew while it was read
+		}
+		try (InputStream stream = new FileInputStream(file)) {
+			return getInputStreamAsCharArray(stream, encoding);
+		}
+	}
+
+	private static final int MIN_READ_BUFFER_SIZE = 1 << 16;
+	private static final int MAX_READ_BUFFER_SIZE = 1 << 20; // larger files are streamed
+	private static final int MAX_POOLED_READ_BUFFERS = 8;
+	private static final ArrayDeque<ByteBuffer> READ_BUFFERS = new ArrayDeque<>();
+
+	private static ByteBuffer acquireReadBuffer(int size) {
+		synchronized (READ_BUFFERS) {
+			for (Iterator<ByteBuffer> buffers = READ_BUFFERS.iterator(); buffers.hasNext();) {
+				ByteBuffer buffer = buffers.next();
+				if (buffer.capacity() >= size) {
+					buffers.remove(); // buffers are compared by their contents, not by identity
+					return buffer.clear().limit(size);
+				}
+			}
+		}
+		return ByteBuffer.allocate(Math.max(MIN_READ_BUFFER_SIZE, Integer.highestOneBit(size - 1) << 1)).limit(size);
+	}
+
+	private static void releaseReadBuffer(ByteBuffer buffer) {
+		synchronized (READ_BUFFERS) {
+			if (READ_BUFFERS.size() < MAX_POOLED_READ_BUFFERS)
+				READ_BUFFERS.push(buffer);
 		}
 	}
 	private static FileOutputStream getFileOutputStream(boolean generatePackagesStructure, String outputPath, String relativeFileName) throws IOException {
@@ -484,35 +521,31 @@ public class Util implements SuffixConstants {
 	public static char[] getInputStreamAsCharArray(InputStream stream,  String encoding)
 			throws IOException {
 		byte[] byteContents =  getInputStreamAsByteArray(stream);
+		return decode(ByteBuffer.wrap(byteContents), getCharset(encoding));
+	}
 
-		Charset charset;
+	private static Charset getCharset(String encoding) {
 		try {
-			charset = Charset.forName(encoding);
+			return Charset.forName(encoding);
 		} catch (IllegalArgumentException e) {
 			// encoding is not supported
-			charset = Charset.defaultCharset();
+			return Charset.defaultCharset();
 		}
-
-		// check for BOM in encoded byte content
-		// (instead of after decoding to avoid array copy after decoding):
-		byte[] bom = bomByEncoding.get(charset.name());
-		int start;
-		if (bom != null && startsWith(byteContents, bom)) {
-			start = bom.length; // skip BOM
-		} else {
-			start = 0;
-		}
-
-		return decode(byteContents, start, byteContents.length - start, charset);
 	}
 
 	/**
 	 * conversionless inmplementation of
 	 *
-	 * @return new String(srcBytes, start, length, charset).toCharArray();
+	 * @return new String(srcBytes, start, length, charset).toCharArray(); without the BOM
 	 **/
-	private static char[] decode(byte[] srcBytes, int start, int length, Charset charset) {
-		ByteBuffer srcBuffer = ByteBuffer.wrap(srcBytes, start, length);
+	private static char[] decode(ByteBuffer srcBuffer, Charset charset) {
+		// check for BOM in encoded byte content
+		// (instead of after decoding to avoid array copy after decoding):
+		byte[] bom = bomByEncoding.get(charset.name());
+		if (bom != null && startsWith(srcBuffer, bom)) {
+			srcBuffer.position(srcBuffer.position() + bom.length); // skip BOM
+		}
+
 		CharBuffer destBuffer = charset.decode(srcBuffer);
 		char[] dst = destBuffer.array();
 		int chars = destBuffer.remaining();
@@ -522,12 +555,12 @@ public class Util implements SuffixConstants {
 		return dst;
 	}
 
-	private static boolean startsWith(byte[] a, byte[] start) {
-		if (a.length < start.length) {
+	private static boolean startsWith(ByteBuffer a, byte[] start) {
+		if (a.remaining() < start.length) {
 			return false;
 		}
 		for (int i = 0; i < start.length; i++) {
-			if (a[i] != start[i])
+			if (a.get(a.position() + i) != start[i])
 				return false;
 		}
 		return true;
@@ -936,31 +969,14 @@ public class Util implements SuffixConstants {
 	 *
 	 */
 	public static void writeToDisk(boolean generatePackagesStructure, String outputPath, String relativeFileName, ClassFile classFile) throws IOException {
-		FileOutputStream file = getFileOutputStream(generatePackagesStructure, outputPath, relativeFileName);
-		/* use java.nio to write
-		if (true) {
-			FileChannel ch = file.getChannel();
-			try {
-				ByteBuffer buffer = ByteBuffer.allocate(classFile.headerOffset + classFile.contentsOffset);
-				buffer.put(classFile.header, 0, classFile.headerOffset);
-				buffer.put(classFile.contents, 0, classFile.contentsOffset);
-				buffer.flip();
-				while (true) {
-					if (ch.write(buffer) == 0) break;
-				}
-			} finally {
-				ch.close();
+		// write the constant pool and the contents of the class file straight from its buffers
+		try (FileOutputStream file = getFileOutputStream(generatePackagesStructure, outputPath, relativeFileName);
+				FileChannel channel = file.getChannel()) {
+			ByteBuffer[] buffers = classFile.getByteBuffers();
+			ByteBuffer last = buffers[buffers.length - 1];
+			while (last.hasRemaining()) {
+				channel.write(buffers);
 			}
-			return;
-		}
-		*/
-		try (BufferedOutputStream output = new BufferedOutputStream(file, DEFAULT_WRITING_SIZE)) {
-			// if no IOException occured, output cannot be null
-			output.write(classFile.header, 0, classFile.headerOffset);
-			output.write(classFile.contents, 0, classFile.contentsOffset);
-			output.flush();
-		} catch(IOException e) {
-			throw e;
 		}
 	}
 	@SuppressWarnings({ "rawtypes", "unchecked" })
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -130,6 +130,7 @@ import org.eclipse.jdt.internal.compiler.Compiler;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.util.CharArrayInterner;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObjectToInt;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 import org.eclipse.jdt.internal.compiler.util.ObjectVector;
@@ -151,7 +152,6 @@ import org.eclipse.jdt.internal.core.util.LRUCache;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 import org.eclipse.jdt.internal.core.util.WeakHashSet;
-import org.eclipse.jdt.internal.core.util.WeakHashSetOfCharArray;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatter;
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
@@ -280,7 +280,6 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 * Used as a replacement for String#intern() that could prevent garbage collection of strings on some VMs.
 	 */
 	private WeakHashSet stringSymbols = new WeakHashSet(5);
-	private WeakHashSetOfCharArray charArraySymbols = new WeakHashSetOfCharArray(5);
 
 	/*
 	 * Extension used to construct Java 6 annotation processor managers
@@ -437,20 +436,24 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			int index = 0;
 			for (int i = 0; i < length; i++) {
 				if (participants[i] instanceof IConfigurationElement) {
-					final IConfigurationElement configElement = (IConfigurationElement) participants[i];
-					final int participantIndex = i;
-					SafeRunner.run(new ISafeRunnable() {
-						@Override
-						public void handleException(Throwable exception) {
-							Util.log(exception, "Exception occurred while creating compilation participant"); //$NON-NLS-1$
-						}
-						@Override
-						public void run() throws Exception {
-							Object executableExtension = configElement.createExecutableExtension("class"); //$NON-NLS-1$
-							for (int j = sourceLevelIndex; j < MAX_SOURCE_LEVEL; j++)
-								participantsPerSource[j][participantIndex] = executableExtension;
+					synchronized (this) { // create each participant once, even when projects are built in parallel
+						if (participants[i] instanceof IConfigurationElement) {
+							final IConfigurationElement configElement = (IConfigurationElement) participants[i];
+							final int participantIndex = i;
+							SafeRunner.run(new ISafeRunnable() {
+								@Override
+								public void handleException(Throwable exception) {
+									Util.log(exception, "Exception occurred while creating compilation participant"); //$NON-NLS-1$
+								}
+								@Override
+								public void run() throws Exception {
+									Object executableExtension = configElement.createExecutableExtension("class"); //$NON-NLS-1$
+									for (int j = sourceLevelIndex; j < MAX_SOURCE_LEVEL; j++)
+										participantsPerSource[j][participantIndex] = executableExtension;
+								}
+							});
 						}
-					});
+					}
 				}
 				CompilationParticipant participant;
 				if (participants[i] instanceof CompilationParticipant && (participant = (CompilationParticipant) participants[i]).isActive(project))
@@ -464,10 +467,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 
 		public HashSet<String> managedMarkerTypes() {
-			if (this.managedMarkerTypes == null) {
-				// force extension points to be read
-				getRegisteredParticipants();
-			}
+			// force extension points to be read, the marker types are filled in while holding the lock
+			getRegisteredParticipants();
 			return this.managedMarkerTypes;
 		}
 
@@ -2216,17 +2217,26 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			return null; // should never be requested on non-Java projects
 		}
 		PerProjectInfo info = getPerProjectInfo(project, true/*create if missing*/);
-		if (!info.triedRead) {
-			info.triedRead = true;
-			try {
-				if (monitor != null)
-					monitor.subTask(Messages.bind(Messages.build_readStateProgress, project.getName()));
-				info.savedState = readState(project);
-			} catch (CoreException e) {
-				Util.log(e, "Exception while reading last build state for: " + project); //$NON-NLS-1$
+		synchronized (info) {
+			if (info.triedRead)
+				return info.savedState;
+		}
+		// read without holding the lock, projects built in parallel may ask for the state of a common prerequisite
+		Object state = null;
+		try {
+			if (monitor != null)
+				monitor.subTask(Messages.bind(Messages.build_readStateProgress, project.getName()));
+			state = readState(project);
+		} catch (CoreException e) {
+			Util.log(e, "Exception while reading last build state for: " + project); //$NON-NLS-1$
+		}
+		synchronized (info) {
+			if (!info.triedRead) { // otherwise the state read or set by another thread wins
+				info.triedRead = true;
+				info.savedState = state;
 			}
+			return info.savedState;
 		}
-		return info.savedState;
 	}
 
 	public String getOption(String optionName) {
@@ -3256,8 +3266,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		((IEclipsePreferences) this.preferencesLookup[PREF_DEFAULT].parent()).addNodeChangeListener(this.defaultNodeListener);
 	}
 
-	public synchronized char[] intern(char[] array) {
-		return this.charArraySymbols.add(array);
+	public char[] intern(char[] array) {
+		return CharArrayInterner.SHARED.intern(array);
 	}
 
 	public synchronized String intern(String s) {
@@ -4264,16 +4274,20 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			System.out.println(Messages.bind(Messages.build_saveStateProgress, info.project.getName()));
 		File file = getSerializationFile(info.project);
 		if (file == null) return;
+		Object state;
+		synchronized (info) {
+			state = info.savedState;
+		}
 		long t = System.currentTimeMillis();
 		try {
 			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
 				out.writeUTF(JavaCore.PLUGIN_ID);
 				out.writeUTF("STATE"); //$NON-NLS-1$
-				if (info.savedState == null) {
+				if (state == null) {
 					out.writeBoolean(false);
 				} else {
 					out.writeBoolean(true);
-					JavaBuilder.writeState(info.savedState, out);
+					JavaBuilder.writeState(state, out);
 				}
 			}
 		} catch (RuntimeException | IOException e) {
@@ -5083,8 +5097,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		if (JavaProject.hasJavaNature(project)) {
 			// should never be requested on non-Java projects
 			PerProjectInfo info = getPerProjectInfo(project, true /*create if missing*/);
-			info.triedRead = true; // no point trying to re-read once using setter
-			info.savedState = state;
+			synchronized (info) {
+				info.triedRead = true; // no point trying to re-read once using setter
+				info.savedState = state;
+			}
 		}
 		if (state == null) { // delete state file to ensure a full build happens if the workspace crashes
 			try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -540,6 +540,7 @@ protected Compiler newCompiler() {
 	// temporary code to allow the compiler to revert to a single thread
 	String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 	newCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+	newCompiler.parserThreadCount = Integer.getInteger("jdt.compiler.parserThreads", 1).intValue(); //$NON-NLS-1$
 
 	// enable the compiler reference info support
 	options.produceReferenceInfo = true;
@@ -646,11 +647,8 @@ protected void recordParticipantResult(CompilationParticipantResult result) {
 	}
 
 	String[] dependencies = result.dependencies;
-	if (dependencies != null) {
-		ReferenceCollection refs = this.newState.references.get(result.sourceFile.typeLocator());
-		if (refs != null)
-			refs.addDependencies(dependencies);
-	}
+	if (dependencies != null)
+		this.newState.recordDependencies(result.sourceFile.typeLocator(), dependencies);
 }
 
 /**
@@ -856,10 +854,10 @@ protected char[] writeClassFile(ClassFile classFile, SourceFile compilationUnit,
 }
 
 protected void writeClassFileContents(ClassFile classFile, IFile file, String qualifiedFileName, boolean isTopLevelType, SourceFile compilationUnit) throws CoreException {
-//	InputStream input = new SequenceInputStream(
-//			new ByteArrayInputStream(classFile.header, 0, classFile.headerOffset),
-//			new ByteArrayInputStream(classFile.contents, 0, classFile.contentsOffset));
-	InputStream input = new ByteArrayInputStream(classFile.getBytes());
+	// read the constant pool and the contents of the class file without copying them in a single array
+	InputStream input = new SequenceInputStream(
+			new ByteArrayInputStream(classFile.header, 0, classFile.headerOffset),
+			new ByteArrayInputStream(classFile.contents, 0, classFile.contentsOffset));
 	if (file.exists()) {
 		// Deal with shared output folders... last one wins... no collision cases detected
 		if (JavaBuilder.DEBUG)
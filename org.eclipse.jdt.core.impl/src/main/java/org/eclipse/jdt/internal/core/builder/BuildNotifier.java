@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,12 +35,18 @@ protected int workDone;
 protected int totalWork;
 protected String previousSubtask;
 
+// the problem counters when the build started, projects built in parallel each add the problems they found
+private int startNewErrorCount;
+private int startFixedErrorCount;
+private int startNewWarningCount;
+private int startFixedWarningCount;
+
 public static int NewErrorCount = 0;
 public static int FixedErrorCount = 0;
 public static int NewWarningCount = 0;
 public static int FixedWarningCount = 0;
 
-public static void resetProblemCounters() {
+public static synchronized void resetProblemCounters() {
 	NewErrorCount = 0;
 	FixedErrorCount = 0;
 	NewWarningCount = 0;
@@ -50,10 +56,12 @@ public static void resetProblemCounters() {
 public BuildNotifier(IProgressMonitor monitor, IProject project) {
 	this.monitor = monitor;
 	this.cancelling = false;
-	this.newErrorCount = NewErrorCount;
-	this.fixedErrorCount = FixedErrorCount;
-	this.newWarningCount = NewWarningCount;
-	this.fixedWarningCount = FixedWarningCount;
+	synchronized (BuildNotifier.class) {
+		this.newErrorCount = this.startNewErrorCount = NewErrorCount;
+		this.fixedErrorCount = this.startFixedErrorCount = FixedErrorCount;
+		this.newWarningCount = this.startNewWarningCount = NewWarningCount;
+		this.fixedWarningCount = this.startFixedWarningCount = FixedWarningCount;
+	}
 	this.workDone = 0;
 	this.totalWork = 1000000;
 }
@@ -105,10 +113,12 @@ public void compiled(SourceFile unit) {
 }
 
 public void done() {
-	NewErrorCount = this.newErrorCount;
-	FixedErrorCount = this.fixedErrorCount;
-	NewWarningCount = this.newWarningCount;
-	FixedWarningCount = this.fixedWarningCount;
+	synchronized (BuildNotifier.class) {
+		NewErrorCount += this.newErrorCount - this.startNewErrorCount;
+		FixedErrorCount += this.fixedErrorCount - this.startFixedErrorCount;
+		NewWarningCount += this.newWarningCount - this.startNewWarningCount;
+		FixedWarningCount += this.fixedWarningCount - this.startFixedWarningCount;
+	}
 
 	updateProgress(1.0f);
 	subTask(Messages.build_done);
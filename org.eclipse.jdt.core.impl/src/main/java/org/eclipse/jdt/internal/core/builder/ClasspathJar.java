@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -84,7 +84,10 @@ protected static void addToPackageSet(SimpleSet packageSet, String fileName, boo
  */
 protected SimpleSet findPackageSet() {
 	String zipFileName = this.zipFilename;
-	PackageCacheEntry cacheEntry = (PackageCacheEntry) PackageCache.get(zipFileName);
+	PackageCacheEntry cacheEntry;
+	synchronized (PackageCache) { // shared by the projects built in parallel
+		cacheEntry = (PackageCacheEntry) PackageCache.get(zipFileName);
+	}
 	long timestamp = this.lastModified();
 	long fileSize = new File(zipFileName).length();
 	if (cacheEntry != null && cacheEntry.lastModified == timestamp && cacheEntry.fileSize == fileSize) {
@@ -93,7 +96,9 @@ protected SimpleSet findPackageSet() {
 	final SimpleSet packageSet = new SimpleSet(41);
 	packageSet.add(""); //$NON-NLS-1$
 	readJarContent(packageSet);
-	PackageCache.put(zipFileName, new PackageCacheEntry(timestamp, fileSize, packageSet));
+	synchronized (PackageCache) {
+		PackageCache.put(zipFileName, new PackageCacheEntry(timestamp, fileSize, packageSet));
+	}
 	return packageSet;
 }
 protected String readJarContent(final SimpleSet packageSet) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,7 @@ import org.eclipse.jdt.internal.core.JavaProject;
 public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry {
 
 //private HashMap<String, SimpleSet> packagesInModule = null;
+// the caches are shared by the projects built in parallel, they are only accessed while holding the lock of ClasspathJrt.class
 protected static HashMap<String, HashMap<String, SimpleSet>> PackageCache = new HashMap<>();
 protected static HashMap<String, HashMap<String, IModule>> ModulesCache = new HashMap<>();
 String zipFilename; // keep for equals
@@ -76,7 +77,7 @@ void setZipFile(String zipFilename) {
  * @param jrt The ClasspathJar to use
  * @return A SimpleSet with the all the package names in the zipFile.
  */
-static HashMap<String, SimpleSet> findPackagesInModules(final ClasspathJrt jrt) {
+static synchronized HashMap<String, SimpleSet> findPackagesInModules(final ClasspathJrt jrt) {
 	String zipFileName = jrt.zipFilename;
 	HashMap<String, SimpleSet> cache = PackageCache.get(jrt.getKey());
 	if (cache != null) {
@@ -118,7 +119,7 @@ static HashMap<String, SimpleSet> findPackagesInModules(final ClasspathJrt jrt)
 	return packagesInModule;
 }
 
-public static void loadModules(final ClasspathJrt jrt) {
+public static synchronized void loadModules(final ClasspathJrt jrt) {
 	HashMap<String, IModule> cache = ModulesCache.get(jrt.getKey());
 
 	if (cache == null) {
@@ -172,11 +173,13 @@ void acceptModule(byte[] content, String name) {
 		String key = getKey();
 		IModule moduleDecl = reader.getModuleDeclaration();
 		if (moduleDecl != null) {
-			HashMap<String, IModule> cache = ModulesCache.get(key);
-			if (cache == null) {
-				ModulesCache.put(key, cache = new HashMap<>());
+			synchronized (ClasspathJrt.class) {
+				HashMap<String, IModule> cache = ModulesCache.get(key);
+				if (cache == null) {
+					ModulesCache.put(key, cache = new HashMap<>());
+				}
+				cache.put(name, moduleDecl);
 			}
-			cache.put(name, moduleDecl);
 		}
 	}
 }
@@ -263,9 +266,11 @@ public IModule getModule(char[] moduleName) {
 	return getModule(String.valueOf(moduleName));
 }
 public IModule getModule(String moduleName) {
-	HashMap<String, IModule> modules = ModulesCache.get(getKey());
-	if (modules != null) {
-		return modules.get(moduleName);
+	synchronized (ClasspathJrt.class) {
+		HashMap<String, IModule> modules = ModulesCache.get(getKey());
+		if (modules != null) {
+			return modules.get(moduleName);
+		}
 	}
 	return null;
 }
@@ -312,7 +317,7 @@ public NameEnvironmentAnswer findClass(String typeName, String qualifiedPackageN
 	return findClass(typeName, qualifiedPackageName, moduleName, qualifiedBinaryFileName, false, null);
 }
 /** TEST ONLY */
-public static void resetCaches() {
+public static synchronized void resetCaches() {
 	PackageCache.clear();
 	ModulesCache.clear();
 }
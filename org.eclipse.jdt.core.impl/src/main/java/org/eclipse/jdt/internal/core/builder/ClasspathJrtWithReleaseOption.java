@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -129,6 +129,12 @@ public class ClasspathJrtWithReleaseOption extends ClasspathJrt {
 		if (this.fs == null || !this.ctSym.isJRE12Plus()) {
 			return ClasspathJrt.findPackagesInModules(this);
 		}
+		synchronized (ClasspathJrt.class) { // the caches are shared by the projects built in parallel
+			return findPackagesInRelease();
+		}
+	}
+
+	private HashMap<String, SimpleSet> findPackagesInRelease() {
 		HashMap<String, SimpleSet> cache = PackageCache.get(this.modPathString);
 		if (cache != null) {
 			return cache;
@@ -177,6 +183,12 @@ public class ClasspathJrtWithReleaseOption extends ClasspathJrt {
 		if (this.modPathString == null) {
 			return;
 		}
+		synchronized (ClasspathJrt.class) { // the caches are shared by the projects built in parallel
+			loadReleaseModules();
+		}
+	}
+
+	private void loadReleaseModules() {
 		HashMap<String, IModule> cache = ModulesCache.get(this.modPathString);
 		if (cache == null) {
 			List<Path> releaseRoots = this.ctSym.releaseRoots(this.releaseCode);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,7 +32,9 @@ import org.eclipse.jdt.internal.core.util.Util;
 import java.io.*;
 import java.net.URI;
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * The incremental image builder
@@ -51,8 +53,31 @@ protected boolean makeOutputFolderConsistent;
 
 private IncrementalImageBuilder testImageBuilder;
 
+// names whose dependents were looked up during the current compile loop, null unless the compile loop looks them up while compiling
+private Set<String> lookedUpQualifiedStrings;
+private Set<String> lookedUpSimpleStrings;
+private Set<String> lookedUpRootStrings;
+private LinkedHashSet<SourceFile> lookedUpPreviousSourceFiles;
+// type locators whose references were recorded since the last lookup of the current compile loop
+private Set<String> recordedTypeLocators;
+
 public static int MaxCompileLoop = 5; // perform a full build if it takes more than ? incremental compile loops
 
+/**
+ * A delta found by the walk of the delta of a source folder, with what the walk decided about it.
+ */
+static class SourceDelta {
+	final IResourceDelta delta;
+	final boolean isExcluded;
+	final boolean walkChildren; // for a removed folder, whether only a package fragment was removed
+
+	SourceDelta(IResourceDelta delta, boolean isExcluded, boolean walkChildren) {
+		this.delta = delta;
+		this.isExcluded = isExcluded;
+		this.walkChildren = walkChildren;
+	}
+}
+
 protected IncrementalImageBuilder(JavaBuilder javaBuilder, State buildState, CompilationGroup compilationGroup) {
 	super(javaBuilder, true, buildState, compilationGroup);
 	this.nameEnvironment.isIncrementalBuild = true;
@@ -175,10 +200,17 @@ private boolean incrementalBuildLoop() throws CoreException {
 			return false;
 		}
 		this.notifier.checkCancel();
+		long start = System.currentTimeMillis();
 
 		SourceFile[] allSourceFiles = new SourceFile[this.sourceFiles.size()];
 		this.sourceFiles.toArray(allSourceFiles);
 		resetCollections();
+		// the dependents of the structurally changed types are looked up in acceptResult(), while the compiler goes on
+		this.lookedUpQualifiedStrings = new HashSet<>(3);
+		this.lookedUpSimpleStrings = new HashSet<>(3);
+		this.lookedUpRootStrings = new HashSet<>(3);
+		this.lookedUpPreviousSourceFiles = this.previousSourceFiles;
+		this.recordedTypeLocators = new HashSet<>();
 
 		this.workQueue.addAll(allSourceFiles);
 		this.notifier.setProgressPerCompilationUnit(increment / allSourceFiles.length);
@@ -186,10 +218,34 @@ private boolean incrementalBuildLoop() throws CoreException {
 		compile(allSourceFiles);
 		removeSecondaryTypes();
 		addAffectedSourceFiles();
+		stopLookingUpWhileCompiling();
+		if (JavaBuilder.DEBUG)
+			System.out.println("Compile loop " + compileLoop + " compiled " + allSourceFiles.length //$NON-NLS-1$ //$NON-NLS-2$
+				+ " source files in " + (System.currentTimeMillis() - start) + "ms, found " //$NON-NLS-1$ //$NON-NLS-2$
+				+ this.sourceFiles.size() + " affected source files"); //$NON-NLS-1$
 	}
 	return true;
 }
 
+private void stopLookingUpWhileCompiling() {
+	this.lookedUpQualifiedStrings = null;
+	this.lookedUpSimpleStrings = null;
+	this.lookedUpRootStrings = null;
+	this.lookedUpPreviousSourceFiles = null;
+	this.recordedTypeLocators = null;
+}
+
+@Override
+public void acceptResult(CompilationResult result) {
+	super.acceptResult(result);
+	// unless it runs in a single thread, the compiler processes the next units meanwhile
+	if (this.lookedUpQualifiedStrings != null
+			&& (this.qualifiedStrings.size() > this.lookedUpQualifiedStrings.size()
+				|| this.simpleStrings.size() > this.lookedUpSimpleStrings.size()
+				|| this.rootStrings.size() > this.lookedUpRootStrings.size()))
+		addNewlyAffectedSourceFiles();
+}
+
 protected void buildAfterBatchBuild() {
 	// called from a batch builder once all source files have been compiled AND some changes
 	// need to be propagated incrementally (annotations, missing secondary types)
@@ -223,7 +279,10 @@ protected void addAffectedSourceFiles() {
 	if(this.testImageBuilder != null) {
 		this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
 	}
-	addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	if (this.lookedUpQualifiedStrings != null)
+		addNewlyAffectedSourceFiles();
+	else
+		addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
 }
 
 protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes) {
@@ -238,10 +297,62 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 		internedSimpleNames = null;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootSet, false);
 
-	next: for (Entry<String, ReferenceCollection> entry : this.newState.references.entrySet()) {
-		String typeLocator = entry.getKey();
+	// only the collections referencing one of the names can match, instead of every collection of the project
+	Collection<String> typeLocators = this.newState.getDependents(internedQualifiedNames, internedSimpleNames);
+	addAffectedSourceFiles(typeLocators, internedQualifiedNames, internedSimpleNames, internedRootNames, affectedTypes);
+}
+
+/**
+ * Adds the source files affected by the names found since the compile loop started, when some of them were
+ * already looked up while compiling. A source file which was not affected by the names of the last lookup
+ * can only be affected now if it references a new name, or if it was compiled since.
+ */
+private void addNewlyAffectedSourceFiles() {
+	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(this.qualifiedStrings);
+	if (internedQualifiedNames.length < this.qualifiedStrings.size())
+		internedQualifiedNames = null;
+	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(this.simpleStrings, true);
+	if (internedSimpleNames.length < this.simpleStrings.size())
+		internedSimpleNames = null;
+	char[][] internedRootNames = ReferenceCollection.internSimpleNames(this.rootStrings, false);
+
+	Collection<String> typeLocators;
+	if (internedQualifiedNames == null || internedSimpleNames == null // well known names match everything
+			|| !this.lookedUpRootStrings.containsAll(this.rootStrings) // root names are not indexed
+			|| this.previousSourceFiles != this.lookedUpPreviousSourceFiles) { // previously compiled files are no longer skipped
+		typeLocators = this.newState.getDependents(internedQualifiedNames, internedSimpleNames);
+	} else {
+		Set<String> newQualifiedStrings = new HashSet<>(this.qualifiedStrings);
+		newQualifiedStrings.removeAll(this.lookedUpQualifiedStrings);
+		Set<String> newSimpleStrings = new HashSet<>(this.simpleStrings);
+		newSimpleStrings.removeAll(this.lookedUpSimpleStrings);
+		typeLocators = new LinkedHashSet<>(this.recordedTypeLocators);
+		typeLocators.addAll(this.newState.getDependents(ReferenceCollection.internQualifiedNames(newQualifiedStrings), null));
+		typeLocators.addAll(this.newState.getDependents(null, ReferenceCollection.internSimpleNames(newSimpleStrings, true)));
+	}
+	addAffectedSourceFiles(typeLocators, internedQualifiedNames, internedSimpleNames, internedRootNames, null);
+
+	this.lookedUpQualifiedStrings.addAll(this.qualifiedStrings);
+	this.lookedUpSimpleStrings.addAll(this.simpleStrings);
+	this.lookedUpRootStrings.addAll(this.rootStrings);
+	this.lookedUpPreviousSourceFiles = this.previousSourceFiles;
+	this.recordedTypeLocators.clear();
+}
+
+private void addAffectedSourceFiles(Collection<String> typeLocators, char[][][] internedQualifiedNames, char[][] internedSimpleNames, char[][] internedRootNames, Set<String> affectedTypes) {
+	long[] qualifiedNameKeys = ReferenceCollection.filterKeys(internedQualifiedNames);
+	long[] simpleNameKeys = ReferenceCollection.filterKeys(internedSimpleNames);
+	int checked = 0, rejected = 0, falsePositives = 0;
+
+	next: for (String typeLocator : typeLocators) {
 		if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue next;
-		ReferenceCollection refs = entry.getValue();
+		ReferenceCollection refs = this.newState.references.get(typeLocator);
+		if (refs == null) continue next; // removed since it was compiled
+		checked++;
+		if (!refs.mayInclude(qualifiedNameKeys, simpleNameKeys)) {
+			rejected++;
+			continue next;
+		}
 		if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
 			IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
 			SourceFile sourceFile = findSourceFile(file, true);
@@ -252,8 +363,14 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 			if (JavaBuilder.DEBUG)
 				System.out.println("  adding affected source file " + typeLocator); //$NON-NLS-1$
 			this.sourceFiles.add(sourceFile);
+		} else if (JavaBuilder.DEBUG && !refs.includes(internedQualifiedNames, internedSimpleNames, null)) {
+			falsePositives++; // not rejected by the root names, which are not in the name filters
 		}
 	}
+	if (JavaBuilder.DEBUG && checked > 0)
+		System.out.println("  name filters rejected " + rejected + " of " + checked //$NON-NLS-1$ //$NON-NLS-2$
+			+ " checked reference collections, false positive rate " //$NON-NLS-1$
+			+ (rejected + falsePositives == 0 ? 0 : falsePositives * 100 / (rejected + falsePositives)) + '%');
 }
 
 protected void addDependentsOf(IPath path, boolean isStructuralChange) {
@@ -330,6 +447,7 @@ protected void cleanUp() {
 
 	this.sourceFiles = null;
 	this.previousSourceFiles = null;
+	stopLookingUpWhileCompiling();
 	this.qualifiedStrings = null;
 	this.simpleStrings = null;
 	this.rootStrings = null;
@@ -387,6 +505,7 @@ protected void deleteGeneratedFiles(IFile[] deletedGeneratedFiles) {
                     removeClassFile(packagePath.append(new String(definedTypeName)), sourceFile.sourceLocation.binaryFolder);
             }
 			this.newState.removeLocator(typeLocator);
+			this.sourceFiles.remove(sourceFile); // can have been found affected while compiling
 		}
 	} catch (CoreException e) {
 		// must continue with compile loop so just log the CoreException
@@ -489,8 +608,11 @@ protected void findAffectedSourceFiles(IResourceDelta binaryDelta, int segmentCo
 }
 
 protected boolean findSourceFiles(IResourceDelta delta) throws CoreException {
+	// the deltas of the source folders are walked in parallel, their changes are then processed in order
+	List<List<SourceDelta>> sourceFolderDeltas = walkSourceFolderDeltas(delta);
 	ArrayList visited = this.makeOutputFolderConsistent ? new ArrayList(this.sourceLocations.length) : null;
-	for (ClasspathMultiDirectory md : this.sourceLocations) {
+	for (int i = 0, l = this.sourceLocations.length; i < l; i++) {
+		ClasspathMultiDirectory md = this.sourceLocations[i];
 		if (this.makeOutputFolderConsistent && md.hasIndependentOutputFolder && !visited.contains(md.binaryFolder)) {
 			// even a project which acts as its own source folder can have an independent/nested output folder
 			visited.add(md.binaryFolder);
@@ -520,11 +642,9 @@ protected boolean findSourceFiles(IResourceDelta delta) throws CoreException {
 					return false; // removed source folder should not make it here, but handle anyways (ADDED is supported)
 				}
 				int segmentCount = sourceDelta.getFullPath().segmentCount();
-				IResourceDelta[] children = sourceDelta.getAffectedChildren();
 				try {
-					for (IResourceDelta child : children)
-                        if (!findSourceFiles(child, md, segmentCount))
-							return false;
+					if (!findSourceFiles(sourceFolderDeltas.get(i), md, segmentCount))
+						return false;
 				} catch (CoreException e) {
 					// catch the case that a package has been renamed and collides on disk with an as-yet-to-be-deleted package
 					if (e.getStatus().getCode() == IResourceStatus.CASE_VARIANT_EXISTS) {
@@ -541,18 +661,112 @@ protected boolean findSourceFiles(IResourceDelta delta) throws CoreException {
 	return true;
 }
 
-protected boolean findSourceFiles(IResourceDelta sourceDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
-	// When a package becomes a type or vice versa, expect 2 deltas,
-	// one on the folder & one on the source file
+/**
+ * Walks the deltas of the source folders which are not the project itself, in parallel when there are
+ * several source folders. The walks only read the deltas and the workspace.
+ *
+ * @return the deltas to process for each source location, <code>null</code> for the source locations without delta
+ */
+private List<List<SourceDelta>> walkSourceFolderDeltas(IResourceDelta delta) {
+	int length = this.sourceLocations.length;
+	List<List<SourceDelta>> sourceFolderDeltas = new ArrayList<>(Collections.nCopies(length, null));
+	List<Future<List<SourceDelta>>> walks = new ArrayList<>(Collections.nCopies(length, null));
+	for (int i = 0; i < length; i++) {
+		ClasspathMultiDirectory md = this.sourceLocations[i];
+		if (md.sourceFolder.equals(this.javaBuilder.currentProject))
+			continue;
+		IResourceDelta sourceDelta = delta.findMember(md.sourceFolder.getProjectRelativePath());
+		if (sourceDelta == null || sourceDelta.getKind() == IResourceDelta.REMOVED)
+			continue;
+		int segmentCount = sourceDelta.getFullPath().segmentCount();
+		if (length == 1) {
+			sourceFolderDeltas.set(i, walkSourceFolderDelta(sourceDelta, md, segmentCount));
+		} else {
+			walks.set(i, ForkJoinPool.commonPool().submit(() -> walkSourceFolderDelta(sourceDelta, md, segmentCount)));
+		}
+	}
+	for (int i = 0; i < length; i++) {
+		Future<List<SourceDelta>> walk = walks.get(i);
+		if (walk == null)
+			continue;
+		try {
+			sourceFolderDeltas.set(i, walk.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e);
+		}
+	}
+	return sourceFolderDeltas;
+}
+
+private List<SourceDelta> walkSourceFolderDelta(IResourceDelta sourceDelta, ClasspathMultiDirectory md, int segmentCount) {
+	List<SourceDelta> sourceDeltas = new ArrayList<>();
+	for (IResourceDelta child : sourceDelta.getAffectedChildren())
+		walkSourceDelta(child, md, segmentCount, sourceDeltas);
+	return sourceDeltas;
+}
+
+private void walkSourceDelta(IResourceDelta sourceDelta, ClasspathMultiDirectory md, int segmentCount, List<SourceDelta> sourceDeltas) {
 	IResource resource = sourceDelta.getResource();
 	// remember that if inclusion & exclusion patterns change then a full build is done
 	boolean isExcluded = (md.exclusionPatterns != null || md.inclusionPatterns != null)
 		&& Util.isExcluded(resource, md.inclusionPatterns, md.exclusionPatterns);
+	boolean walkChildren = false;
+	if (resource.getType() == IResource.FOLDER) {
+		if (isExcluded && md.inclusionPatterns == null)
+	        return; // no need to go further with this delta since its children cannot be included
+
+		switch (sourceDelta.getKind()) {
+			case IResourceDelta.ADDED :
+			case IResourceDelta.CHANGED :
+				walkChildren = true; // collect all the source files
+				break;
+			case IResourceDelta.REMOVED :
+				// an excluded folder has nothing to delete (from this md), but any included subfolders must be walked
+				walkChildren = isExcluded || isRemovedPackageFragment(resource.getFullPath().removeFirstSegments(segmentCount));
+		}
+	}
+	sourceDeltas.add(new SourceDelta(sourceDelta, isExcluded, walkChildren));
+	if (walkChildren)
+		for (IResourceDelta child : sourceDelta.getAffectedChildren())
+			walkSourceDelta(child, md, segmentCount, sourceDeltas);
+}
+
+private boolean isRemovedPackageFragment(IPath removedPackagePath) {
+	if (this.sourceLocations.length > 1) {
+		for (ClasspathMultiDirectory sourceLocation : this.sourceLocations)
+			if (sourceLocation.sourceFolder.getFolder(removedPackagePath).exists())
+				return true; // only a package fragment was removed, same as removing multiple source files
+	}
+	return false;
+}
+
+private boolean findSourceFiles(IResourceDelta sourceDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
+	List<SourceDelta> sourceDeltas = new ArrayList<>();
+	walkSourceDelta(sourceDelta, md, segmentCount, sourceDeltas);
+	return findSourceFiles(sourceDeltas, md, segmentCount);
+}
+
+private boolean findSourceFiles(List<SourceDelta> sourceDeltas, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
+	// the deltas are in the order of the walk, each folder before its children
+	for (SourceDelta sourceDelta : sourceDeltas)
+		if (!findSourceFiles(sourceDelta, md, segmentCount))
+			return false;
+	return true;
+}
+
+private boolean findSourceFiles(SourceDelta walkedDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
+	// When a package becomes a type or vice versa, expect 2 deltas,
+	// one on the folder & one on the source file
+	IResourceDelta sourceDelta = walkedDelta.delta;
+	IResource resource = sourceDelta.getResource();
+	boolean isExcluded = walkedDelta.isExcluded;
 	switch(resource.getType()) {
 		case IResource.FOLDER :
-			if (isExcluded && md.inclusionPatterns == null)
-		        return true; // no need to go further with this delta since its children cannot be included
-
 			switch (sourceDelta.getKind()) {
 				case IResourceDelta.ADDED :
 				    if (!isExcluded) {
@@ -568,36 +782,20 @@ protected boolean findSourceFiles(IResourceDelta sourceDelta, ClasspathMultiDire
 							addDependentsOf(addedPackagePath, true);
 						}
 				    }
-					//$FALL-THROUGH$ collect all the source files
+					return true; // the source files are collected by the walk
 				case IResourceDelta.CHANGED :
-					IResourceDelta[] children = sourceDelta.getAffectedChildren();
-					for (IResourceDelta child : children)
-                        if (!findSourceFiles(child, md, segmentCount))
-							return false;
 					return true;
 				case IResourceDelta.REMOVED :
 				    if (isExcluded) {
-				    	// since this folder is excluded then there is nothing to delete (from this md), but must walk any included subfolders
-						children = sourceDelta.getAffectedChildren();
-						for (IResourceDelta child : children)
-                            if (!findSourceFiles(child, md, segmentCount))
-								return false;
+				    	// since this folder is excluded then there is nothing to delete (from this md), its included subfolders were walked
 						return true;
 				    }
 					IPath removedPackagePath = resource.getFullPath().removeFirstSegments(segmentCount);
-					if (this.sourceLocations.length > 1) {
-						for (ClasspathMultiDirectory sourceLocation : this.sourceLocations) {
-							if (sourceLocation.sourceFolder.getFolder(removedPackagePath).exists()) {
-								// only a package fragment was removed, same as removing multiple source files
-								if (md.hasIndependentOutputFolder)
-									createFolder(removedPackagePath, md.binaryFolder); // ensure package exists in the output folder
-								IResourceDelta[] removedChildren = sourceDelta.getAffectedChildren();
-								for (IResourceDelta removedChild : removedChildren)
-                                    if (!findSourceFiles(removedChild, md, segmentCount))
-										return false;
-								return true;
-							}
-						}
+					if (walkedDelta.walkChildren) {
+						// only a package fragment was removed, same as removing multiple source files
+						if (md.hasIndependentOutputFolder)
+							createFolder(removedPackagePath, md.binaryFolder); // ensure package exists in the output folder
+						return true;
 					}
 					if ((sourceDelta.getFlags() & IResourceDelta.MOVED_TO) != 0) {
 						// same idea as moving a source file
@@ -751,6 +949,8 @@ protected void finishedWith(String sourceLocator, CompilationResult result, char
 		this.secondaryTypesToRemove.put(sourceFile.sourceLocation.binaryFolder, types);
 	}
 	super.finishedWith(sourceLocator, result, mainTypeName, definedTypeNames, duplicateTypeNames);
+	if (this.recordedTypeLocators != null)
+		this.recordedTypeLocators.add(sourceLocator);
 }
 
 @Override
@@ -773,6 +973,8 @@ protected void processAnnotationResults(CompilationParticipantResult[] results)
 		}
 
 		recordParticipantResult(result);
+		if (this.recordedTypeLocators != null)
+			this.recordedTypeLocators.add(result.sourceFile.typeLocator()); // its dependencies were recorded
 	}
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.jdt.internal.core.builder;
 
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.*;
@@ -51,6 +52,11 @@ public static boolean SHOW_STATS = false;
  * specify VM property: {@code -Dorg.eclipse.disableAutoBuildOnSettingsChange=true}
  */
 private static final boolean DISABLE_AUTO_BUILDING_ON_SETTINGS_CHANGE = Boolean.getBoolean("org.eclipse.disableAutoBuildOnSettingsChange"); //$NON-NLS-1$
+/**
+ * In case Java builds of independent projects should run in parallel, specify VM property:
+ * {@code -Dorg.eclipse.jdt.core.builder.projectRule=true}
+ */
+private static final boolean USE_PROJECT_RULE = Boolean.getBoolean("org.eclipse.jdt.core.builder.projectRule"); //$NON-NLS-1$
 private static final IPath JDT_CORE_SETTINGS_PATH = Path.fromPortableString(JavaProject.DEFAULT_PREFERENCES_DIRNAME + IPath.SEPARATOR + JavaProject.JAVA_CORE_PREFS_FILE);
 
 /**
@@ -203,6 +209,10 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
             			if (DEBUG)
             				System.out.println("JavaBuilder: Performing full build since project settings have changed"); //$NON-NLS-1$
             			buildAll();
+            		} else if (!this.lastState.isDecodable()) {
+            			if (DEBUG)
+            				System.out.println("JavaBuilder: Performing full build since last saved state could not be decoded"); //$NON-NLS-1$
+            			buildAll();
             		} else {
             			buildDeltas(deltas);
             		}
@@ -435,6 +445,32 @@ private SimpleLookupTable findDeltas() {
 	return deltas;
 }
 
+/**
+ * Answers the project as the scheduling rule of the build when {@link #USE_PROJECT_RULE} is set, so
+ * that the build manager can build independent projects in parallel: a build only modifies the
+ * resources of its project, while the prerequisite projects it reads are built before it.
+ * <p>
+ * The workspace rule is kept for the projects involved in a build path cycle, which read the output
+ * folders of each other, and for the projects with compilation participants, which are not known
+ * to support concurrent builds. The cycle is computed from the resolved classpath since the cycle
+ * marker is only updated after the classpath changes are processed.
+ */
+@Override
+public ISchedulingRule getRule(int kind, Map<String, String> args) {
+	IProject project = getProject();
+	if (!USE_PROJECT_RULE || project == null || !project.isAccessible() || !JavaProject.hasJavaNature(project))
+		return super.getRule(kind, args);
+	JavaProject javaProject = (JavaProject) JavaCore.create(project);
+	try {
+		if (javaProject.hasClasspathCycle(javaProject.getResolvedClasspath())
+				|| JavaModelManager.getJavaModelManager().compilationParticipants.getCompilationParticipants(javaProject) != null)
+			return super.getRule(kind, args);
+	} catch (JavaModelException e) {
+		return super.getRule(kind, args);
+	}
+	return project;
+}
+
 public State getLastState(IProject project) {
 	return (State) JavaModelManager.getJavaModelManager().getLastBuiltState(project, this.notifier.monitor);
 }
@@ -622,10 +658,12 @@ private int initializeBuilder(int kind, boolean forBuild) throws CoreException {
 
 		// Flush the existing external files cache if this is the beginning of a build cycle
 		String projectName = this.currentProject.getName();
-		if (builtProjects == null || builtProjects.contains(projectName)) {
-			builtProjects = new LinkedHashSet();
+		synchronized (JavaBuilder.class) { // projects can be built in parallel
+			if (builtProjects == null || builtProjects.contains(projectName)) {
+				builtProjects = new LinkedHashSet();
+			}
+			builtProjects.add(projectName);
 		}
-		builtProjects.add(projectName);
 	}
 
 	this.binaryLocationsPerProject = new SimpleLookupTable(3);
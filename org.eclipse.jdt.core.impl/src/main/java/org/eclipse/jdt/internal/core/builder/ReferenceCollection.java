@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,8 @@ public class ReferenceCollection {
 char[][][] qualifiedNameReferences;
 char[][] simpleNameReferences;
 char[][] rootReferences;
+// Bloom filter of the simple names and of the qualified names, computed when first needed
+private long[] nameFilter;
 
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
 	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
@@ -57,7 +59,9 @@ public void addDependencies(String[] typeNameDependencies) {
 			int qLength = qualifiedTypeName.length;
 			QualifiedNameSet internedNames = InternedQualifiedNames[qLength <= MaxQualifiedNames ? qLength - 1 : 0];
 			qualifiedTypeName = internSimpleNames(qualifiedTypeName, false, false);
-			qualifiedTypeName = internedNames.add(qualifiedTypeName);
+			synchronized (internedNames) {
+				qualifiedTypeName = internedNames.add(qualifiedTypeName);
+			}
 			int idx;
 			while ((idx = Arrays.binarySearch(this.qualifiedNameReferences, qualifiedTypeName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) < 0) {
 				this.simpleNameReferences = ensureContainedInSortedOrder(this.simpleNameReferences, qualifiedTypeName[qualifiedTypeName.length - 1]);
@@ -75,6 +79,7 @@ public void addDependencies(String[] typeNameDependencies) {
 			}
 		}
 	}
+	this.nameFilter = null;
 }
 
 public boolean includes(char[] simpleName) {
@@ -137,6 +142,107 @@ private boolean doIncludes(char[][][] qualifiedNames, char[][] simpleNames, char
     return includesQualifiedName(qualifiedNames) && includesSimpleName(simpleNames);
 }
 
+/**
+ * Answers whether this collection can include the given names, as
+ * {@link #includes(char[][][], char[][], char[][])} would answer for the same names without their root
+ * names: <code>false</code> is always right, while <code>true</code> can be a false positive.
+ * The keys are the ones answered by {@link #filterKeys(char[][][])} and {@link #filterKeys(char[][])} for
+ * the names, <code>null</code> keys stand for well known names.
+ */
+public boolean mayInclude(long[] qualifiedNameKeys, long[] simpleNameKeys) {
+	if (simpleNameKeys == null && qualifiedNameKeys == null)
+		return true;
+	long[] filter = getNameFilter();
+	if (simpleNameKeys != null && !mayContainAny(filter, simpleNameKeys))
+		return false;
+	// the key of a single segment qualified name is the key of the simple name
+	return qualifiedNameKeys == null || mayContainAny(filter, qualifiedNameKeys);
+}
+
+long[] getNameFilter() {
+	long[] filter = this.nameFilter;
+	if (filter == null) {
+		int length = this.simpleNameReferences.length + this.qualifiedNameReferences.length;
+		int bits = Math.max(Long.SIZE, Integer.highestOneBit(Math.max(1, length * FILTER_BITS_PER_NAME - 1)) << 1);
+		filter = new long[bits / Long.SIZE];
+		for (char[] simpleName : this.simpleNameReferences)
+			addToFilter(filter, filterKey(simpleName));
+		for (char[][] qualifiedName : this.qualifiedNameReferences)
+			addToFilter(filter, filterKey(qualifiedName));
+		this.nameFilter = filter;
+	}
+	return filter;
+}
+
+void setNameFilter(long[] filter) {
+	this.nameFilter = filter;
+}
+
+public static long[] filterKeys(char[][] simpleNames) {
+	if (simpleNames == null) return null;
+	long[] keys = new long[simpleNames.length];
+	for (int i = 0, l = simpleNames.length; i < l; i++)
+		keys[i] = filterKey(simpleNames[i]);
+	return keys;
+}
+
+public static long[] filterKeys(char[][][] qualifiedNames) {
+	if (qualifiedNames == null) return null;
+	long[] keys = new long[qualifiedNames.length];
+	for (int i = 0, l = qualifiedNames.length; i < l; i++)
+		keys[i] = filterKey(qualifiedNames[i]);
+	return keys;
+}
+
+// the filters are persisted with the state, so the keys only depend on the characters of the names
+private static long filterKey(char[] simpleName) {
+	long hash = 0;
+	for (char c : simpleName)
+		hash = 31 * hash + c;
+	return mix(hash);
+}
+
+private static long filterKey(char[][] qualifiedName) {
+	long hash = 0;
+	for (int i = 0, l = qualifiedName.length; i < l; i++) {
+		if (i > 0)
+			hash = 31 * hash + '/';
+		for (char c : qualifiedName[i])
+			hash = 31 * hash + c;
+	}
+	return mix(hash);
+}
+
+private static long mix(long hash) {
+	// finalizer of MurmurHash3, spreads the bits of similar names
+	hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+	hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+	return hash ^ (hash >>> 33);
+}
+
+private static void addToFilter(long[] filter, long key) {
+	int mask = filter.length * Long.SIZE - 1;
+	int h1 = (int) key, h2 = (int) (key >>> 32) | 1;
+	for (int i = 0; i < FILTER_PROBES; i++) {
+		int bit = (h1 + i * h2) & mask;
+		filter[bit >>> 6] |= 1L << bit;
+	}
+}
+
+private static boolean mayContainAny(long[] filter, long[] keys) {
+	int mask = filter.length * Long.SIZE - 1;
+	next: for (long key : keys) {
+		int h1 = (int) key, h2 = (int) (key >>> 32) | 1;
+		for (int i = 0; i < FILTER_PROBES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			if ((filter[bit >>> 6] & (1L << bit)) == 0)
+				continue next;
+		}
+		return true;
+	}
+	return false;
+}
+
 public boolean insideRoot(char[] rootName) {
 	boolean result = sortedArrayContains(this.rootReferences, rootName, SortedCharArrays.CHAR_ARR_COMPARATOR);
 	if (REFERENCE_COLLECTION_DEBUG && result != debugIncludes(rootName)) {
@@ -268,9 +374,14 @@ static final char[][] WellKnownSimpleNames = {
 	new char[] {'o', 'r', 'g'},
 	new char[] {'c', 'o', 'm'}};
 
+// about 3% of false positives for 8 bits per name and 3 probes
+static final int FILTER_BITS_PER_NAME = 8;
+static final int FILTER_PROBES = 3;
+
 static final char[][][] EmptyQualifiedNames = {};
 static final char[][] EmptySimpleNames = CharOperation.NO_CHAR_CHAR;
 
+// the names are interned by all the builds, including the builds running in parallel, so each set is its own lock
 // each array contains qualified char[][], one for size 2, 3, 4, 5, 6, 7 & the rest
 static final int MaxQualifiedNames = 7;
 static QualifiedNameSet[] InternedQualifiedNames = new QualifiedNameSet[MaxQualifiedNames];
@@ -376,7 +487,9 @@ static char[][][] internQualifiedNames(char[][][] qualifiedNames, boolean keepWe
 			}
 			prev = qualifiedName;
 		}
-		keepers[index++] = internedNames.add(qualifiedName);
+		synchronized (internedNames) {
+			keepers[index++] = internedNames.add(qualifiedName);
+		}
 	}
 	if (length > index) {
 		if (index == 0) return EmptyQualifiedNames;
@@ -470,7 +583,9 @@ static char[][] internSimpleNames(char[][] simpleNames, boolean removeWellKnown,
 		// InternedSimpleNames[1] is for size 1...
 		// InternedSimpleNames[29] is for size 29
 		NameSet internedNames = InternedSimpleNames[sLength < MaxSimpleNames ? sLength : 0];
-		keepers[index++] = internedNames.add(name);
+		synchronized (internedNames) {
+			keepers[index++] = internedNames.add(name);
+		}
 		// This code is duplicated to encourage the JIT to inline more stuff
 		if (doSort && isSorted) {
 			if (prev != null && SortedCharArrays.compareCharArray(prev, name) > 0) {
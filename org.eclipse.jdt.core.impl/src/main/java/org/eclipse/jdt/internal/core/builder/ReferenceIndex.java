@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index of the reference collections of a {@link State}: answers the type locators of the
+ * source files referencing a simple name or a qualified name, so that the dependents of changed types
+ * are found without querying every reference collection of the project.
+ * <p>
+ * The names are the interned arrays of the reference collections, so they are compared by identity.
+ * A copy shares the sets of type locators with its origin until either of them modifies a set, so that
+ * copying the index of the last state is proportional to the number of names.
+ */
+class ReferenceIndex {
+
+// keyed by the interned simple name 'X', value is the type locators of the collections referencing it
+final Map<char[], Set<String>> simpleNames;
+// keyed by the interned qualified name 'p1/p2', value is the type locators of the collections referencing it
+final Map<char[][], Set<String>> qualifiedNames;
+// the sets of type locators which are not shared with another index
+private final Set<Set<String>> ownedSets;
+
+ReferenceIndex() {
+	this.simpleNames = new IdentityHashMap<>();
+	this.qualifiedNames = new IdentityHashMap<>();
+	this.ownedSets = Collections.newSetFromMap(new IdentityHashMap<>());
+}
+
+private ReferenceIndex(ReferenceIndex index) {
+	this.simpleNames = new IdentityHashMap<>(index.simpleNames);
+	this.qualifiedNames = new IdentityHashMap<>(index.qualifiedNames);
+	this.ownedSets = Collections.newSetFromMap(new IdentityHashMap<>());
+}
+
+ReferenceIndex copy() {
+	this.ownedSets.clear(); // all the sets are now shared
+	return new ReferenceIndex(this);
+}
+
+void add(String typeLocator, ReferenceCollection collection) {
+	for (char[][] qualifiedName : collection.qualifiedNameReferences)
+		add(this.qualifiedNames, qualifiedName, typeLocator);
+	for (char[] simpleName : collection.simpleNameReferences)
+		add(this.simpleNames, simpleName, typeLocator);
+}
+
+private <K> void add(Map<K, Set<String>> index, K name, String typeLocator) {
+	Set<String> typeLocators = index.get(name);
+	if (typeLocators == null) {
+		typeLocators = new HashSet<>(4);
+		this.ownedSets.add(typeLocators);
+		index.put(name, typeLocators);
+	} else if (!typeLocators.contains(typeLocator)) {
+		typeLocators = own(index, name, typeLocators);
+	} else {
+		return;
+	}
+	typeLocators.add(typeLocator);
+}
+
+void remove(String typeLocator, ReferenceCollection collection) {
+	for (char[][] qualifiedName : collection.qualifiedNameReferences)
+		remove(this.qualifiedNames, qualifiedName, typeLocator);
+	for (char[] simpleName : collection.simpleNameReferences)
+		remove(this.simpleNames, simpleName, typeLocator);
+}
+
+private <K> void remove(Map<K, Set<String>> index, K name, String typeLocator) {
+	Set<String> typeLocators = index.get(name);
+	if (typeLocators == null || !typeLocators.contains(typeLocator))
+		return;
+	if (typeLocators.size() == 1) {
+		index.remove(name);
+		this.ownedSets.remove(typeLocators);
+		return;
+	}
+	own(index, name, typeLocators).remove(typeLocator);
+}
+
+private <K> Set<String> own(Map<K, Set<String>> index, K name, Set<String> typeLocators) {
+	if (this.ownedSets.contains(typeLocators))
+		return typeLocators;
+	Set<String> copy = new HashSet<>(typeLocators);
+	this.ownedSets.add(copy);
+	index.put(name, copy);
+	return copy;
+}
+
+/**
+ * Answers the type locators of the collections which can include the given interned names, a superset
+ * of the collections for which {@link ReferenceCollection#includes(char[][][], char[][], char[][])}
+ * answers true, or <code>null</code> when any collection can include them. As in <code>includes</code>,
+ * <code>null</code> names stand for well known names and single segment qualified names are also looked
+ * for as simple names. Root names are not indexed.
+ */
+Set<String> getDependents(char[][][] qualifiedNameReferences, char[][] simpleNameReferences) {
+	Set<String> dependents = new HashSet<>();
+	if (simpleNameReferences != null) {
+		// every match must include one of the simple names
+		for (char[] simpleName : simpleNameReferences)
+			addAll(dependents, this.simpleNames.get(simpleName));
+	} else if (qualifiedNameReferences != null) {
+		for (char[][] qualifiedName : qualifiedNameReferences) {
+			addAll(dependents, this.qualifiedNames.get(qualifiedName));
+			if (qualifiedName.length == 1)
+				addAll(dependents, this.simpleNames.get(qualifiedName[0]));
+		}
+	} else {
+		return null;
+	}
+	return dependents;
+}
+
+private static void addAll(Set<String> dependents, Set<String> typeLocators) {
+	if (typeLocators != null)
+		dependents.addAll(typeLocators);
+}
+}
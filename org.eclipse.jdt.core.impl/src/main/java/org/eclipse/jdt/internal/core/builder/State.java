@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -64,8 +64,14 @@ public ClasspathLocation[] binaryLocations;
 public ClasspathLocation[] testBinaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
 Map<String, ReferenceCollection> references;
+// type locators of the reference collections by referenced name, kept in sync with the references once it is
+// built by the first lookup of dependents, null until then
+ReferenceIndex referenceIndex;
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
 public Map<String, String> typeLocators;
+// the undecoded type locators, names and references of a state read from disk, null once they are decoded
+private volatile StateImage image;
+private boolean discarded; // whether the image could not be decoded
 
 int buildNumber;
 long lastStructuralBuildTime;
@@ -77,7 +83,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x0024;
+public static final byte VERSION = 0x0028;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -120,10 +126,13 @@ void copyFrom(State lastState) {
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
+	lastState.decode();
 	this.references = new LinkedHashMap<>(lastState.references);
+	this.referenceIndex = lastState.referenceIndex == null ? null : lastState.referenceIndex.copy();
 	this.typeLocators = new LinkedHashMap<>(lastState.typeLocators);
 }
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
+	decode();
 	Object c = this.references.get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
@@ -131,9 +140,28 @@ public char[][] getDefinedTypeNamesFor(String typeLocator) {
 }
 
 public Map<String, ReferenceCollection> getReferences() {
+	decode();
 	return this.references;
 }
 
+/**
+ * Answers the type locators of the source files which can depend on the given interned names, or all
+ * the type locators when a name is a well known name.
+ *
+ * @see ReferenceIndex#getDependents(char[][][], char[][])
+ */
+Set<String> getDependents(char[][][] qualifiedNames, char[][] simpleNames) {
+	decode();
+	if (this.referenceIndex == null) {
+		ReferenceIndex index = new ReferenceIndex();
+		for (Entry<String, ReferenceCollection> entry : this.references.entrySet())
+			index.add(entry.getKey(), entry.getValue());
+		this.referenceIndex = index;
+	}
+	Set<String> dependents = this.referenceIndex.getDependents(qualifiedNames, simpleNames);
+	return dependents == null ? this.references.keySet() : dependents;
+}
+
 StringSet getStructurallyChangedTypes(State prereqState) {
 	if (prereqState != null && prereqState.previousStructuralBuildTime > 0) {
 		Object o = this.structuralBuildTimes.get(prereqState.javaProjectName);
@@ -145,11 +173,13 @@ StringSet getStructurallyChangedTypes(State prereqState) {
 }
 
 public boolean isDuplicateLocator(String qualifiedTypeName, String typeLocator) {
+	decode();
 	String existing = this.typeLocators.get(qualifiedTypeName);
 	return existing != null && !existing.equals(typeLocator);
 }
 
 public boolean isKnownPackage(String qualifiedPackageName) {
+	decode();
 	if (this.knownPackageNames == null) {
 		LinkedHashSet<String> names = new LinkedHashSet<>(this.typeLocators.size());
 		Set<Entry<String, String>> keyTable = this.typeLocators.entrySet();
@@ -172,10 +202,12 @@ public boolean isKnownPackage(String qualifiedPackageName) {
 }
 
 public boolean isKnownType(String qualifiedTypeName) {
+	decode();
 	return this.typeLocators.containsKey(qualifiedTypeName);
 }
 
 boolean isSourceFolderEmpty(IContainer sourceFolder) {
+	decode();
 	String sourceFolderName = sourceFolder.getProjectRelativePath().addTrailingSeparator().toString();
 	for (String value : this.typeLocators.values()) {
 		if (value.startsWith(sourceFolderName)) {
@@ -186,16 +218,35 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 }
 
 void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+	decode();
+	ReferenceCollection collection;
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		collection = new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs);
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		collection = new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs);
+	}
+	ReferenceCollection previous = this.references.put(typeLocator, collection);
+	if (this.referenceIndex != null) {
+		if (previous != null)
+			this.referenceIndex.remove(typeLocator, previous);
+		this.referenceIndex.add(typeLocator, collection);
+	}
+}
+
+void recordDependencies(String typeLocator, String[] typeNameDependencies) {
+	decode();
+	ReferenceCollection collection = this.references.get(typeLocator);
+	if (collection != null) {
+		collection.addDependencies(typeNameDependencies);
+		if (this.referenceIndex != null)
+			this.referenceIndex.add(typeLocator, collection);
 	}
 }
 
 void recordLocatorForType(String qualifiedTypeName, String typeLocator) {
+	decode();
 	this.knownPackageNames = null;
 	// in the common case, the qualifiedTypeName is a substring of the typeLocator so share the char[] by using String.substring()
 	int start = typeLocator.indexOf(qualifiedTypeName);
@@ -211,8 +262,11 @@ void recordStructuralDependency(IProject prereqProject, State prereqState) {
 }
 
 void removeLocator(String typeLocatorToRemove) {
+	decode();
 	this.knownPackageNames = null;
-	this.references.remove(typeLocatorToRemove);
+	ReferenceCollection previous = this.references.remove(typeLocatorToRemove);
+	if (previous != null && this.referenceIndex != null)
+		this.referenceIndex.remove(typeLocatorToRemove, previous);
 	this.typeLocators.values().removeIf(v -> typeLocatorToRemove.equals(v));
 }
 
@@ -234,6 +288,7 @@ void removePackage(IResourceDelta sourceDelta) {
 }
 
 void removeQualifiedTypeName(String qualifiedTypeNameToRemove) {
+	decode();
 	this.knownPackageNames = null;
 	this.typeLocators.remove(qualifiedTypeNameToRemove);
 }
@@ -273,66 +328,127 @@ static State read(IProject project, DataInputStream in) throws IOException, Core
 	for (int i = 0; i < length; i++)
 		newState.structuralBuildTimes.put(in.readUTF(), Long.valueOf(in.readLong()));
 
-	String[] internedTypeLocators = new String[length = in.readInt()];
-	for (int i = 0; i < length; i++)
-		internedTypeLocators[i] = in.readUTF();
+	byte[] image = new byte[in.readInt()];
+	in.readFully(image);
+	newState.setImage(image);
+	if (JavaBuilder.DEBUG)
+		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	return newState;
+}
+
+/**
+ * Sets the image of the type locators, the names and the references read from disk, which is decoded
+ * when the state is first used by a build.
+ *
+ * @throws IOException if the image is malformed, its checksum is only verified when it is decoded
+ */
+void setImage(byte[] bytes) throws IOException {
+	this.image = new StateImage(bytes);
+}
 
-	length = in.readInt();
-	newState.typeLocators = new LinkedHashMap<>((int) (length / 0.75 + 1));
+/**
+ * Answers the image of the type locators, the names and the references of this state, as it is written
+ * to disk.
+ */
+byte[] getImage() {
+	StateImage stateImage = this.image;
+	return stateImage != null ? stateImage.getBytes() : writeImage();
+}
+
+/**
+ * Decodes the type locators, the names and the references of a state read from disk the first time they
+ * are needed, so that only the states of the projects which are actually built get decoded.
+ */
+private void decode() {
+	if (this.image != null)
+		decodeImage();
+}
+
+private synchronized void decodeImage() {
+	StateImage stateImage = this.image;
+	if (stateImage == null) return; // decoded by another thread
+	long start = System.currentTimeMillis();
+	try {
+		stateImage.verify();
+		readImage(stateImage);
+	} catch (IOException | RuntimeException e) {
+		org.eclipse.jdt.internal.core.util.Util.log(e, "Error decoding last build state for project " + this.javaProjectName); //$NON-NLS-1$
+		discard();
+	}
+	this.image = null;
+	if (JavaBuilder.DEBUG)
+		System.out.println("Decoded state for " + this.javaProjectName + " in " //$NON-NLS-1$ //$NON-NLS-2$
+			+ (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$
+}
+
+/*
+ * Answers an empty state to the callers instead of the undecodable image. The state is only replaced by
+ * the next build of its project, which is a full build, see isDecodable(): the last built state must
+ * not be changed here, while the monitor of this state is held.
+ */
+private void discard() {
+	this.typeLocators = new LinkedHashMap<>(7);
+	this.references = new LinkedHashMap<>(7);
+	this.referenceIndex = null;
+	this.knownPackageNames = null;
+	this.discarded = true;
+}
+
+/**
+ * Answers whether the tables of this state could be decoded, decoding them if needed. A state which
+ * could not be decoded is empty and must not be used for an incremental build.
+ */
+boolean isDecodable() {
+	decode();
+	return !this.discarded;
+}
+
+private void readImage(StateImage in) {
+	int length;
+	in.startSection(StateImage.TYPE_LOCATORS);
+	this.typeLocators = new LinkedHashMap<>((int) ((length = in.readInt()) / 0.75 + 1));
 	for (int i = 0; i < length; i++)
-		newState.recordLocatorForType(in.readUTF(), internedTypeLocators[in.readInt()]);
+		this.typeLocators.put(in.readString(), in.readString());
 
 	/*
 	 * Here we read global arrays of names for the entire project - do not mess up the ordering while interning
 	 */
-	char[][] internedRootNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
-	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
+	in.startSection(StateImage.NAMES);
+	char[][] internedRootNames = ReferenceCollection.internSimpleNames(in.readNames(), false /* keep well known */, false /* do not sort */);
+	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(in.readNames(), false /* keep well known */, false /* do not sort */);
 	char[][][] internedQualifiedNames = new char[length = in.readInt()][][];
 	for (int i = 0; i < length; i++) {
-		int qLength = in.readInt();
-		char[][] qName = new char[qLength][];
-		for (int j = 0; j < qLength; j++)
+		char[][] qName = new char[in.readInt()][];
+		for (int j = 0, m = qName.length; j < m; j++)
 			qName[j] = internedSimpleNames[in.readInt()];
 		internedQualifiedNames[i] = qName;
 	}
 	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false /* drop well known */, false /* do not sort */);
 
-	length = in.readInt();
-	newState.references = new LinkedHashMap((int) (length / 0.75 + 1));
+	in.startSection(StateImage.REFERENCES);
+	this.references = new LinkedHashMap<>((int) ((length = in.readInt()) / 0.75 + 1));
 	for (int i = 0; i < length; i++) {
-		String typeLocator = internedTypeLocators[in.readInt()];
-		ReferenceCollection collection = null;
-		switch (in.readByte()) {
-			case 1 :
-				char[][] additionalTypeNames = readNames(in);
-				char[][][] qualifiedNames = new char[in.readInt()][][];
-				for (int j = 0, m = qualifiedNames.length; j < m; j++)
-					qualifiedNames[j] = internedQualifiedNames[in.readInt()];
-				char[][] simpleNames = new char[in.readInt()][];
-				for (int j = 0, m = simpleNames.length; j < m; j++)
-					simpleNames[j] = internedSimpleNames[in.readInt()];
-				char[][] rootNames = new char[in.readInt()][];
-				for (int j = 0, m = rootNames.length; j < m; j++)
-					rootNames[j] = internedRootNames[in.readInt()];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
-				break;
-			case 2 :
-				char[][][] qNames = new char[in.readInt()][][];
-				for (int j = 0, m = qNames.length; j < m; j++)
-					qNames[j] = internedQualifiedNames[in.readInt()];
-				char[][] sNames = new char[in.readInt()][];
-				for (int j = 0, m = sNames.length; j < m; j++)
-					sNames[j] = internedSimpleNames[in.readInt()];
-				char[][] rNames = new char[in.readInt()][];
-				for (int j = 0, m = rNames.length; j < m; j++)
-					rNames[j] = internedRootNames[in.readInt()];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
-		}
-		newState.references.put(typeLocator, collection);
+		String typeLocator = in.readString();
+		char[][] additionalTypeNames = in.readByte() == 1 ? in.readNames() : null;
+		char[][][] qualifiedNames = new char[in.readInt()][][];
+		for (int j = 0, m = qualifiedNames.length; j < m; j++)
+			qualifiedNames[j] = internedQualifiedNames[in.readInt()];
+		char[][] simpleNames = new char[in.readInt()][];
+		for (int j = 0, m = simpleNames.length; j < m; j++)
+			simpleNames[j] = internedSimpleNames[in.readInt()];
+		char[][] rootNames = new char[in.readInt()][];
+		for (int j = 0, m = rootNames.length; j < m; j++)
+			rootNames[j] = internedRootNames[in.readInt()];
+		ReferenceCollection collection = additionalTypeNames == null
+			? new ReferenceCollection(qualifiedNames, simpleNames, rootNames)
+			: new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
+		long[] filter = new long[in.readInt()];
+		for (int j = 0, m = filter.length; j < m; j++)
+			filter[j] = in.readLong();
+		collection.setNameFilter(filter);
+		this.references.put(typeLocator, collection);
 	}
-	if (JavaBuilder.DEBUG)
-		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
-	return newState;
+	this.referenceIndex = null;
 }
 
 private static ClasspathMultiDirectory[] readSourceLocations(IProject project, DataInputStream in, List<ClasspathLocation> allLocationsForEEA) throws IOException {
@@ -557,49 +673,35 @@ void write(DataOutputStream out) throws IOException {
 	}
 
 /*
- * String[]	Interned type locators
+ * Image of the type locators, names and references, written back as it was read when it was not decoded
+ * int		length
+ * byte[]	image
  */
-	out.writeInt(length = this.references.size());
-	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
-	if (length > 0) {
-		Set<String> keys = this.references.keySet();
-		for (String key : keys) {
-			if (key != null) {
-				length--;
-				out.writeUTF(key);
-				internedTypeLocators.put(key, Integer.valueOf(internedTypeLocators.elementSize));
-			}
-		}
-		if (JavaBuilder.DEBUG && length != 0)
-			System.out.println("references table is inconsistent"); //$NON-NLS-1$
-	}
+	byte[] image = getImage();
+	out.writeInt(image.length);
+	out.write(image);
+}
+
+private byte[] writeImage() {
+	int length;
+	StateImage.Writer out = new StateImage.Writer();
 
 /*
  * Type locators table
  * String		type name
- * int			interned locator id
+ * String		type locator
  */
-	out.writeInt(length = this.typeLocators.size());
-	if (length > 0) {
-		Set<Entry<String, String>> entries = this.typeLocators.entrySet();
-		for (Entry<String, String> entry : entries) {
-			String key = entry.getKey();
-			String value = entry.getValue();
-			if (key != null) {
-				length--;
-				out.writeUTF(key);
-				Integer index = (Integer) internedTypeLocators.get(value);
-				out.writeInt(index);
-			}
-		}
-		if (JavaBuilder.DEBUG && length != 0)
-			System.out.println("typeLocators table is inconsistent"); //$NON-NLS-1$
+	out.startSection(StateImage.TYPE_LOCATORS);
+	out.writeInt(this.typeLocators.size());
+	for (Entry<String, String> entry : this.typeLocators.entrySet()) {
+		out.writeString(entry.getKey());
+		out.writeString(entry.getValue());
 	}
 
 /*
  * char[][]	Interned root names
- * char[][][]	Interned qualified names
  * char[][]	Interned simple names
+ * int[][]	Interned qualified names, as ids of interned simple names
  */
 	SimpleLookupTable internedRootNames = new SimpleLookupTable(3);
 	SimpleLookupTable internedQualifiedNames = new SimpleLookupTable(31);
@@ -626,6 +728,7 @@ void write(DataOutputStream out) throws IOException {
 				internedSimpleNames.put(sName, Integer.valueOf(internedSimpleNames.elementSize));
 		}
 	}
+	out.startSection(StateImage.NAMES);
 	char[][] internedArray = new char[internedRootNames.elementSize][];
 	Object[] rootNames = internedRootNames.keyTable;
 	Object[] positions = internedRootNames.valueTable;
@@ -635,18 +738,18 @@ void write(DataOutputStream out) throws IOException {
 			internedArray[index] = (char[]) rootNames[i];
 		}
 	}
-	writeNames(internedArray, out);
+	out.writeNames(internedArray);
 	// now write the interned simple names
-	internedArray = new char[internedSimpleNames.elementSize][];
+	char[][] internedSArray = new char[internedSimpleNames.elementSize][];
 	Object[] simpleNames = internedSimpleNames.keyTable;
 	positions = internedSimpleNames.valueTable;
 	for (int i = positions.length; --i >= 0; ) {
 		if (positions[i] != null) {
 			int index = (Integer) positions[i];
-			internedArray[index] = (char[]) simpleNames[i];
+			internedSArray[index] = (char[]) simpleNames[i];
 		}
 	}
-	writeNames(internedArray, out);
+	out.writeNames(internedSArray);
 	// now write the interned qualified names as arrays of interned simple names
 	char[][][] internedQArray = new char[internedQualifiedNames.elementSize][][];
 	Object[] qualifiedNames = internedQualifiedNames.keyTable;
@@ -662,57 +765,46 @@ void write(DataOutputStream out) throws IOException {
 		char[][] qName = internedQArray[i];
 		int qLength = qName.length;
 		out.writeInt(qLength);
-		for (int j = 0; j < qLength; j++) {
-			Integer index = (Integer) internedSimpleNames.get(qName[j]);
-			out.writeInt(index);
-		}
+		for (int j = 0; j < qLength; j++)
+			out.writeInt((Integer) internedSimpleNames.get(qName[j]));
 	}
 
 /*
  * References table
- * int		interned locator id
+ * String		type locator
  * ReferenceCollection
-*/
-	out.writeInt(length = this.references.size());
-	if (length > 0) {
-		for (Entry<String, ReferenceCollection> entry : this.references.entrySet()) {
-			String key = entry.getKey();
-			length--;
-			Integer index = (Integer) internedTypeLocators.get(key);
-			out.writeInt(index);
-			ReferenceCollection collection = entry.getValue();
-			if (collection instanceof AdditionalTypeCollection) {
-				out.writeByte(1);
-				AdditionalTypeCollection atc = (AdditionalTypeCollection) collection;
-				writeNames(atc.definedTypeNames, out);
-			} else {
-				out.writeByte(2);
-			}
-			char[][][] qNames = collection.qualifiedNameReferences;
-			int qLength = qNames.length;
-			out.writeInt(qLength);
-			for (int j = 0; j < qLength; j++) {
-				index = (Integer) internedQualifiedNames.get(qNames[j]);
-				out.writeInt(index);
-			}
-			char[][] sNames = collection.simpleNameReferences;
-			int sLength = sNames.length;
-			out.writeInt(sLength);
-			for (int j = 0; j < sLength; j++) {
-				index = (Integer) internedSimpleNames.get(sNames[j]);
-				out.writeInt(index);
-			}
-			char[][] rNames = collection.rootReferences;
-			int rLength = rNames.length;
-			out.writeInt(rLength);
-			for (int j = 0; j < rLength; j++) {
-				index = (Integer) internedRootNames.get(rNames[j]);
-				out.writeInt(index);
-			}
+ * long[]	name filter
+ */
+	out.startSection(StateImage.REFERENCES);
+	out.writeInt(this.references.size());
+	for (Entry<String, ReferenceCollection> entry : this.references.entrySet()) {
+		out.writeString(entry.getKey());
+		ReferenceCollection collection = entry.getValue();
+		if (collection instanceof AdditionalTypeCollection) {
+			out.writeByte(1);
+			AdditionalTypeCollection atc = (AdditionalTypeCollection) collection;
+			out.writeNames(atc.definedTypeNames);
+		} else {
+			out.writeByte(2);
 		}
-		if (JavaBuilder.DEBUG && length != 0)
-			System.out.println("references table is inconsistent"); //$NON-NLS-1$
+		char[][][] qNames = collection.qualifiedNameReferences;
+		out.writeInt(qNames.length);
+		for (char[][] qName : qNames)
+			out.writeInt((Integer) internedQualifiedNames.get(qName));
+		char[][] sNames = collection.simpleNameReferences;
+		out.writeInt(sNames.length);
+		for (char[] sName : sNames)
+			out.writeInt((Integer) internedSimpleNames.get(sName));
+		char[][] rNames = collection.rootReferences;
+		out.writeInt(rNames.length);
+		for (char[] rName : rNames)
+			out.writeInt((Integer) internedRootNames.get(rName));
+		long[] filter = collection.getNameFilter();
+		out.writeInt(filter.length);
+		for (long bits : filter)
+			out.writeLong(bits);
 	}
+	return out.toByteArray();
 }
 
 private void writeSourceLocations(DataOutputStream out, ClasspathMultiDirectory[] srcLocations) throws IOException {
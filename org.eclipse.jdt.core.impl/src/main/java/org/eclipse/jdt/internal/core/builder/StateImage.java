@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.internal.core.util.Messages;
+
+/**
+ * Compact encoding of the type locators, the names and the references of a {@link State}, which is
+ * kept undecoded after the state is read until the state is used by a build.
+ * <p>
+ * The image starts with the offsets of its sections, so that each section is read without reading the
+ * ones before it, and with a checksum of its content, which is verified before the image is decoded so
+ * that a corrupt image is rejected instead of being decoded into wrong tables. Every string is stored
+ * once in the string table, in modified UTF-8, and the sections refer to it by id; ids, counts and
+ * lengths are stored as variable length integers. The strings table holds the offset of each string so
+ * that a string is decoded only when its id is first read.
+ */
+class StateImage {
+
+static final int STRINGS = 0;
+static final int TYPE_LOCATORS = 1;
+static final int NAMES = 2;
+static final int REFERENCES = 3;
+private static final int SECTION_COUNT = 4;
+private static final int CHECKSUM = SECTION_COUNT * 4; // position of the checksum
+private static final int HEADER_SIZE = CHECKSUM + 4;
+
+private final byte[] bytes;
+private final ByteBuffer buffer;
+private final int stringOffsets; // position of the offsets of the strings
+private final String[] strings;
+
+StateImage(byte[] bytes) throws IOException {
+	this.bytes = bytes;
+	this.buffer = ByteBuffer.wrap(bytes);
+	if (bytes.length < HEADER_SIZE)
+		throw new IOException(Messages.build_wrongFileFormat);
+	for (int i = 0; i < SECTION_COUNT; i++) {
+		int offset = this.buffer.getInt(i * 4);
+		if (offset < HEADER_SIZE || offset > bytes.length)
+			throw new IOException(Messages.build_wrongFileFormat);
+	}
+	startSection(STRINGS);
+	int count;
+	try {
+		count = readInt();
+	} catch (BufferUnderflowException e) {
+		throw new IOException(Messages.build_wrongFileFormat, e);
+	}
+	this.stringOffsets = this.buffer.position();
+	if (count < 0 || count > (bytes.length - this.stringOffsets) / 4)
+		throw new IOException(Messages.build_wrongFileFormat);
+	this.strings = new String[count];
+}
+
+/**
+ * Checks the content of the image against its checksum, which is only done when the image is decoded
+ * since reading a state must not go through the images of all the projects.
+ *
+ * @throws IOException if the image is corrupt
+ */
+void verify() throws IOException {
+	if (this.buffer.getInt(CHECKSUM) != checksum(this.bytes, this.bytes.length))
+		throw new IOException(Messages.build_wrongFileFormat);
+}
+
+private static int checksum(byte[] bytes, int length) {
+	CRC32 crc = new CRC32();
+	crc.update(bytes, 0, CHECKSUM);
+	crc.update(bytes, HEADER_SIZE, length - HEADER_SIZE);
+	return (int) crc.getValue();
+}
+
+byte[] getBytes() {
+	return this.bytes;
+}
+
+void startSection(int section) {
+	this.buffer.position(this.buffer.getInt(section * 4));
+}
+
+byte readByte() {
+	return this.buffer.get();
+}
+
+int readInt() {
+	int value = 0;
+	for (int shift = 0;; shift += 7) {
+		byte b = this.buffer.get();
+		value |= (b & 0x7F) << shift;
+		if (b >= 0)
+			return value;
+	}
+}
+
+long readLong() {
+	return this.buffer.getLong();
+}
+
+char[] readName() {
+	return decode(readInt());
+}
+
+char[][] readNames() {
+	char[][] names = new char[readInt()][];
+	for (int i = 0, l = names.length; i < l; i++)
+		names[i] = readName();
+	return names;
+}
+
+/**
+ * Answers the string of the id read from the image, which is the same instance for every occurrence of
+ * the id.
+ */
+String readString() {
+	int id = readInt();
+	String string = this.strings[id];
+	if (string == null)
+		this.strings[id] = string = new String(decode(id));
+	return string;
+}
+
+private char[] decode(int id) {
+	if (id >= this.strings.length)
+		throw new IndexOutOfBoundsException(id);
+	int position = this.buffer.getInt(this.stringOffsets + id * 4);
+	int length = 0;
+	for (int shift = 0;; shift += 7) {
+		byte b = this.buffer.get(position++);
+		length |= (b & 0x7F) << shift;
+		if (b >= 0)
+			break;
+	}
+	char[] chars = new char[length];
+	for (int i = 0; i < length; i++) {
+		int b = this.bytes[position++] & 0xFF;
+		if (b < 0x80)
+			chars[i] = (char) b;
+		else if (b < 0xE0)
+			chars[i] = (char) ((b & 0x1F) << 6 | this.bytes[position++] & 0x3F);
+		else
+			chars[i] = (char) ((b & 0x0F) << 12 | (this.bytes[position++] & 0x3F) << 6 | this.bytes[position++] & 0x3F);
+	}
+	return chars;
+}
+
+/**
+ * Encodes an image, collecting the strings written in its sections into its string table.
+ */
+static class Writer {
+
+	private byte[] bytes = new byte[8192];
+	private int size = HEADER_SIZE;
+	private final Map<String, Integer> stringIds = new HashMap<>();
+	private final List<String> strings = new ArrayList<>();
+
+	void startSection(int section) {
+		writeIntAt(section * 4, this.size);
+	}
+
+	private void writeIntAt(int position, int value) {
+		this.bytes[position] = (byte) (value >>> 24);
+		this.bytes[position + 1] = (byte) (value >>> 16);
+		this.bytes[position + 2] = (byte) (value >>> 8);
+		this.bytes[position + 3] = (byte) value;
+	}
+
+	void writeByte(int value) {
+		ensureCapacity(1);
+		this.bytes[this.size++] = (byte) value;
+	}
+
+	void writeInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			this.bytes[this.size++] = (byte) (value & 0x7F | 0x80);
+			value >>>= 7;
+		}
+		this.bytes[this.size++] = (byte) value;
+	}
+
+	void writeLong(long value) {
+		ensureCapacity(8);
+		for (int shift = 56; shift >= 0; shift -= 8)
+			this.bytes[this.size++] = (byte) (value >>> shift);
+	}
+
+	void writeName(char[] name) {
+		writeString(new String(name));
+	}
+
+	void writeNames(char[][] names) {
+		int length = names == null ? 0 : names.length;
+		writeInt(length);
+		for (int i = 0; i < length; i++)
+			writeName(names[i]);
+	}
+
+	void writeString(String string) {
+		Integer id = this.stringIds.get(string);
+		if (id == null) {
+			this.stringIds.put(string, id = Integer.valueOf(this.strings.size()));
+			this.strings.add(string);
+		}
+		writeInt(id.intValue());
+	}
+
+	/**
+	 * Appends the string table and the checksum and answers the encoded image.
+	 */
+	byte[] toByteArray() {
+		startSection(STRINGS);
+		int count = this.strings.size();
+		writeInt(count);
+		int offsets = this.size;
+		ensureCapacity(count * 4);
+		this.size += count * 4;
+		for (int i = 0; i < count; i++, offsets += 4) {
+			writeIntAt(offsets, this.size);
+			String string = this.strings.get(i);
+			int length = string.length();
+			writeInt(length);
+			ensureCapacity(length * 3);
+			for (int j = 0; j < length; j++) {
+				char c = string.charAt(j);
+				if (c >= 0x01 && c < 0x80) {
+					this.bytes[this.size++] = (byte) c;
+				} else if (c < 0x800) {
+					this.bytes[this.size++] = (byte) (0xC0 | c >> 6);
+					this.bytes[this.size++] = (byte) (0x80 | c & 0x3F);
+				} else {
+					this.bytes[this.size++] = (byte) (0xE0 | c >> 12);
+					this.bytes[this.size++] = (byte) (0x80 | c >> 6 & 0x3F);
+					this.bytes[this.size++] = (byte) (0x80 | c & 0x3F);
+				}
+			}
+		}
+		writeIntAt(CHECKSUM, checksum(this.bytes, this.size));
+		return Arrays.copyOf(this.bytes, this.size);
+	}
+
+	private void ensureCapacity(int length) {
+		if (this.size + length > this.bytes.length)
+			this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + length));
+	}
+}
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compiles the same sources with and without parsing threads, see {@link ParseTaskManager}, and
+ * checks that the problems and the class files are the same.
+ */
+public class ParseTaskManagerTest {
+
+	private static final int UNITS = 64;
+
+	@Test
+	public void parsingThreadsProduceTheSameOutput() throws IOException {
+		Path root = Files.createTempDirectory("parseTasks"); //$NON-NLS-1$
+		List<String> arguments = new ArrayList<>();
+		for (int i = 0; i < UNITS; i++) {
+			Path file = root.resolve("src/p/U" + i + ".java"); //$NON-NLS-1$ //$NON-NLS-2$
+			Files.createDirectories(file.getParent());
+			Files.writeString(file, source(i), StandardCharsets.UTF_8);
+			arguments.add(file.toString());
+		}
+		for (int run = 0; run < 5; run++) {
+			String sequential = compile(root.resolve("out1"), arguments, 1); //$NON-NLS-1$
+			String parallel = compile(root.resolve("out4"), arguments, 4); //$NON-NLS-1$
+			assertEquals(sequential, parallel);
+			assertSameFiles(root.resolve("out1"), root.resolve("out4")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/*
+	 * Every unit uses the next one through overloaded generic methods taking method references, which
+	 * get copied for each target type while they are resolved, some units have syntax errors, type
+	 * errors or tasks in their method bodies, and the first units are fully parsed.
+	 */
+	private static String source(int i) {
+		int next = (i + 1) % UNITS;
+		StringBuilder source = new StringBuilder();
+		source.append("package p;\n") //$NON-NLS-1$
+			.append("import java.util.function.*;\n") //$NON-NLS-1$
+			.append("public class U").append(i).append(" {\n") //$NON-NLS-1$ //$NON-NLS-2$
+			.append("\tstatic <T> T call(Supplier<T> s) { return s.get(); }\n") //$NON-NLS-1$
+			.append("\tstatic void call(Runnable r) { r.run(); }\n") //$NON-NLS-1$
+			.append("\tstatic <T, R> R apply(Function<T, R> f, T t) { return f.apply(t); }\n") //$NON-NLS-1$
+			.append("\tstatic <T, R> R apply(BiFunction<T, T, R> f, T t) { return f.apply(t, t); }\n") //$NON-NLS-1$
+			.append("\tpublic String name() { return \"U").append(i).append("\"; }\n") //$NON-NLS-1$ //$NON-NLS-2$
+			.append("\tpublic int m(U").append(next).append(" next) {\n") //$NON-NLS-1$ //$NON-NLS-2$
+			.append("\t\t// TODO unit ").append(i).append('\n') //$NON-NLS-1$
+			.append("\t\tString s = call(next::name);\n") //$NON-NLS-1$
+			.append("\t\tInteger length = apply(String::length, s);\n") //$NON-NLS-1$
+			.append("\t\tRunnable r = () -> System.out.println(apply(Object::toString, next));\n") //$NON-NLS-1$
+			.append("\t\tint unused = 0;\n"); //$NON-NLS-1$
+		if (i % 7 == 3)
+			source.append("\t\tint broken = ;\n"); //$NON-NLS-1$
+		if (i % 11 == 5)
+			source.append("\t\tString wrong = length;\n"); //$NON-NLS-1$
+		source.append("\t\tr.run();\n") //$NON-NLS-1$
+			.append("\t\treturn length.intValue();\n") //$NON-NLS-1$
+			.append("\t}\n") //$NON-NLS-1$
+			.append("}\n"); //$NON-NLS-1$
+		return source.toString();
+	}
+
+	private static String compile(Path output, List<String> files, int parserThreads) throws IOException {
+		deleteRecursively(output);
+		List<String> arguments = new ArrayList<>(List.of("-17", "-proc:none", "-warn:+unused,tasks(TODO)", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"-d", output.toString())); //$NON-NLS-1$
+		arguments.addAll(files);
+		StringWriter out = new StringWriter();
+		PrintWriter writer = new PrintWriter(out);
+		String previous = System.setProperty("jdt.compiler.parserThreads", Integer.toString(parserThreads)); //$NON-NLS-1$
+		try {
+			new Main(writer, writer, false).compile(arguments.toArray(new String[arguments.size()]));
+			writer.flush();
+		} finally {
+			if (previous == null)
+				System.clearProperty("jdt.compiler.parserThreads"); //$NON-NLS-1$
+			else
+				System.setProperty("jdt.compiler.parserThreads", previous); //$NON-NLS-1$
+		}
+		return out.toString();
+	}
+
+	private static void assertSameFiles(Path expected, Path actual) throws IOException {
+		List<Path> expectedFiles = list(expected);
+		List<Path> actualFiles = list(actual);
+		assertFalse(expectedFiles.isEmpty());
+		assertEquals(expectedFiles, actualFiles);
+		for (Path file : expectedFiles)
+			assertArrayEquals(Files.readAllBytes(expected.resolve(file)), Files.readAllBytes(actual.resolve(file)), file.toString());
+	}
+
+	private static List<Path> list(Path directory) throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			return files.filter(Files::isRegularFile).map(directory::relativize).sorted().toList();
+		}
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		if (!Files.exists(directory))
+			return;
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (File file : files.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).toList())
+				file.delete();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sends requests to a {@link CompilerDaemon} the way they are read from its standard input, and
+ * checks the framing of the responses and that a jar replaced between requests is reopened.
+ */
+public class CompilerDaemonTest {
+
+	@Test
+	public void replacedJarIsReopenedBetweenRequests() throws Exception {
+		Path root = Files.createTempDirectory("daemon"); //$NON-NLS-1$
+		Path jar = root.resolve("lib.jar"); //$NON-NLS-1$
+		writeJar(root, jar, "public static int one() { return 1; }"); //$NON-NLS-1$
+		Path client = root.resolve("src/p/Client.java"); //$NON-NLS-1$
+		Files.createDirectories(client.getParent());
+
+		PipedWriter requests = new PipedWriter();
+		BufferedReader in = new BufferedReader(new PipedReader(requests));
+		PipedWriter responseWriter = new PipedWriter();
+		BufferedReader responses = new BufferedReader(new PipedReader(responseWriter));
+		CompilerDaemon daemon = new CompilerDaemon();
+		Throwable[] failure = new Throwable[1];
+		Thread thread = new Thread(() -> {
+			try {
+				daemon.serve(in, new PrintWriter(responseWriter, true));
+			} catch (Throwable e) {
+				failure[0] = e;
+			}
+		}, "CompilerDaemon"); //$NON-NLS-1$
+		thread.setDaemon(true); // left blocked on its input when an assertion fails
+		ZipFileCache.enable();
+		try {
+			thread.start();
+			Files.writeString(client, "package p; public class Client { int i = lib.Lib.one(); }", StandardCharsets.UTF_8); //$NON-NLS-1$
+			String[] end = request(requests, responses, root, jar, client);
+			assertEquals("0", end[1], "exit code"); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("0", end[3], "reopened jars"); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("1", end[4], "warm jars"); //$NON-NLS-1$ //$NON-NLS-2$
+
+			// same path, new content: the second request must see the new method
+			writeJar(root, jar, "public static int one() { return 1; } public static int two() { return 2; }"); //$NON-NLS-1$
+			Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 2000));
+			Files.writeString(client, "package p; public class Client { int i = lib.Lib.two(); }", StandardCharsets.UTF_8); //$NON-NLS-1$
+			end = request(requests, responses, root, jar, client);
+			assertEquals("0", end[1], "exit code"); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("1", end[3], "reopened jars"); //$NON-NLS-1$ //$NON-NLS-2$
+
+			requests.write("0\n"); //$NON-NLS-1$
+			requests.flush();
+			thread.join(10000);
+			assertFalse(thread.isAlive());
+			assertEquals(null, failure[0]);
+			assertEquals(2, daemon.getRequestCount());
+		} finally {
+			requests.close();
+			ZipFileCache.disable();
+		}
+	}
+
+	/*
+	 * Compiles the client against the jar, answers the fields of the #end line after checking that no
+	 * other line follows it.
+	 */
+	private static String[] request(PipedWriter requests, BufferedReader responses, Path root, Path jar, Path client) throws IOException {
+		List<String> arguments = List.of("-17", "-proc:none", "-cp", jar.toString(), "-d", root.resolve("out").toString(), client.toString()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		StringBuilder request = new StringBuilder().append(arguments.size()).append('\n');
+		for (String argument : arguments)
+			request.append(argument).append('\n');
+		requests.write(request.toString());
+		requests.flush();
+		StringBuilder output = new StringBuilder();
+		String line;
+		while ((line = responses.readLine()) != null && !line.startsWith(CompilerDaemon.END_OF_RESPONSE))
+			output.append(line).append('\n');
+		assertNotNull(line, output.toString());
+		String[] end = line.split(" "); //$NON-NLS-1$
+		assertEquals(5, end.length, line);
+		assertEquals(CompilerDaemon.END_OF_RESPONSE, end[0]);
+		assertTrue(output.toString().isBlank(), output.toString());
+		assertFalse(responses.ready(), "nothing after " + line); //$NON-NLS-1$
+		return end;
+	}
+
+	private static void writeJar(Path root, Path jar, String members) throws IOException {
+		Path source = root.resolve("lib/lib/Lib.java"); //$NON-NLS-1$
+		Path classes = root.resolve("libclasses"); //$NON-NLS-1$
+		Files.createDirectories(source.getParent());
+		Files.writeString(source, "package lib; public class Lib { " + members + " }", StandardCharsets.UTF_8); //$NON-NLS-1$ //$NON-NLS-2$
+		StringWriter out = new StringWriter();
+		PrintWriter writer = new PrintWriter(out);
+		boolean success = new Main(writer, writer, false).compile(new String[] {"-17", "-proc:none", "-d", classes.toString(), source.toString()}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		writer.flush();
+		assertTrue(success, out.toString());
+		try (OutputStream file = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(file)) {
+			zip.putNextEntry(new ZipEntry("lib/Lib.class")); //$NON-NLS-1$
+			zip.write(Files.readAllBytes(classes.resolve("lib/Lib.class"))); //$NON-NLS-1$
+			zip.closeEntry();
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the name filter of a {@link ReferenceCollection} never rejects a collection which includes
+ * the names looked up, for random names, as the filters are computed, copied with the state, persisted
+ * with its image and read back.
+ */
+public class ReferenceCollectionTest {
+
+	private static final int COLLECTIONS = 200;
+	private static final int QUERIES = 500;
+	// lower case names of a few letters collide often, and the well known names are dropped by interning
+	private static final String LETTERS = "abcde"; //$NON-NLS-1$
+	private static final String[] WELL_KNOWN = {"java", "lang", "org", "com", "Object"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	@Test
+	public void filterAcceptsEveryIncludedName() throws IOException {
+		for (long seed = 0; seed < 5; seed++) {
+			Random random = new Random(seed);
+			State state = newState();
+			for (int i = 0; i < COLLECTIONS; i++)
+				record(state, "src/p/T" + i + ".java", random); //$NON-NLS-1$ //$NON-NLS-2$
+			assertSound(state, random);
+
+			State copy = newState();
+			copy.copyFrom(state);
+			for (int i = 0; i < COLLECTIONS / 10; i++) {
+				// changed collections get new filters, unchanged ones keep the filters of the last state
+				record(copy, "src/p/T" + random.nextInt(COLLECTIONS) + ".java", random); //$NON-NLS-1$ //$NON-NLS-2$
+				copy.getReferences().get("src/p/T" + random.nextInt(COLLECTIONS) + ".java") //$NON-NLS-1$ //$NON-NLS-2$
+					.addDependencies(new String[] {qualifiedName(random).replace('/', '.')});
+			}
+			assertSound(copy, random);
+
+			State reloaded = newState();
+			reloaded.setImage(copy.getImage());
+			assertEquals(copy.getReferences().keySet(), reloaded.getReferences().keySet());
+			assertSound(reloaded, random);
+		}
+	}
+
+	private static State newState() {
+		State state = new State();
+		state.javaProjectName = "p"; //$NON-NLS-1$
+		state.references = new LinkedHashMap<>();
+		state.typeLocators = new LinkedHashMap<>();
+		return state;
+	}
+
+	private static void record(State state, String typeLocator, Random random) {
+		ArrayList<char[]> typeNames = new ArrayList<>();
+		typeNames.add("T".toCharArray()); //$NON-NLS-1$
+		if (random.nextInt(4) == 0)
+			typeNames.add("Secondary".toCharArray()); //$NON-NLS-1$
+		Set<String> qualified = new HashSet<>();
+		Set<String> simple = new HashSet<>();
+		Set<String> roots = new HashSet<>();
+		for (int i = random.nextInt(30); i >= 0; i--) {
+			String name = qualifiedName(random);
+			qualified.add(name);
+			roots.add(name.substring(0, name.indexOf('/') < 0 ? name.length() : name.indexOf('/')));
+		}
+		for (int i = random.nextInt(30); i >= 0; i--)
+			simple.add(simpleName(random));
+		state.record(typeLocator,
+			ReferenceCollection.internQualifiedNames(qualified),
+			ReferenceCollection.internSimpleNames(simple, true),
+			ReferenceCollection.internSimpleNames(roots, false),
+			"T".toCharArray(), //$NON-NLS-1$
+			typeNames);
+	}
+
+	/*
+	 * Looks up random names the way IncrementalImageBuilder does, with null names when a well known name
+	 * is looked up.
+	 */
+	private static void assertSound(State state, Random random) {
+		Map<String, ReferenceCollection> references = state.getReferences();
+		int included = 0;
+		for (int i = 0; i < QUERIES; i++) {
+			Set<String> qualifiedStrings = new HashSet<>();
+			Set<String> simpleStrings = new HashSet<>();
+			for (int j = random.nextInt(4); j >= 0; j--) {
+				qualifiedStrings.add(qualifiedName(random));
+				simpleStrings.add(simpleName(random));
+			}
+			char[][][] qualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedStrings);
+			if (qualifiedNames.length < qualifiedStrings.size())
+				qualifiedNames = null;
+			char[][] simpleNames = ReferenceCollection.internSimpleNames(simpleStrings, true);
+			if (simpleNames.length < simpleStrings.size())
+				simpleNames = null;
+			long[] qualifiedKeys = ReferenceCollection.filterKeys(qualifiedNames);
+			long[] simpleKeys = ReferenceCollection.filterKeys(simpleNames);
+			for (Map.Entry<String, ReferenceCollection> entry : references.entrySet()) {
+				ReferenceCollection collection = entry.getValue();
+				if (collection.includes(qualifiedNames, simpleNames, null)) {
+					included++;
+					assertTrue(collection.mayInclude(qualifiedKeys, simpleKeys),
+						entry.getKey() + " includes " + qualifiedStrings + ' ' + simpleStrings); //$NON-NLS-1$
+				}
+			}
+		}
+		assertTrue(included > 0, "no name is included"); //$NON-NLS-1$
+	}
+
+	private static String qualifiedName(Random random) {
+		StringBuilder name = new StringBuilder(simpleName(random));
+		for (int i = random.nextInt(3); i > 0; i--)
+			name.append('/').append(simpleName(random));
+		return name.toString();
+	}
+
+	private static String simpleName(Random random) {
+		if (random.nextInt(50) == 0)
+			return WELL_KNOWN[random.nextInt(WELL_KNOWN.length)];
+		char[] name = new char[1 + random.nextInt(3)];
+		for (int i = 0; i < name.length; i++)
+			name[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+		return new String(name);
+	}
+}
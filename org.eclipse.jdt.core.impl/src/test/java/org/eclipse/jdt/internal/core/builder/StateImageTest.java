@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Writes the image of a {@link State} and reads it back, see {@link StateImage}.
+ */
+public class StateImageTest {
+
+	private static final String[] TYPE_NAMES = {
+		"p/A", //$NON-NLS-1$
+		"pé/Über", //$NON-NLS-1$
+		"日本/語", //$NON-NLS-1$
+		"p/𐐀Deseret", // supplementary plane, written as a surrogate pair //$NON-NLS-1$
+		"p/Nul\u0000", //$NON-NLS-1$
+	};
+
+	@Test
+	public void roundTrip() throws IOException {
+		State state = newState();
+		for (String typeName : TYPE_NAMES) {
+			String typeLocator = "src/" + typeName + ".java"; //$NON-NLS-1$ //$NON-NLS-2$
+			char[] mainTypeName = typeName.substring(typeName.indexOf('/') + 1).toCharArray();
+			ArrayList<char[]> definedTypeNames = new ArrayList<>();
+			definedTypeNames.add(mainTypeName);
+			if (typeName.startsWith("pé")) //$NON-NLS-1$
+				definedTypeNames.add("Étranger".toCharArray()); //$NON-NLS-1$
+			state.record(typeLocator,
+				new char[][][] {CharOperation.splitOn('/', typeName.toCharArray()), {"qé".toCharArray(), "😀".toCharArray()}}, //$NON-NLS-1$ //$NON-NLS-2$
+				new char[][] {mainTypeName, "😀".toCharArray()}, //$NON-NLS-1$
+				new char[][] {typeName.substring(0, typeName.indexOf('/')).toCharArray()},
+				mainTypeName,
+				definedTypeNames);
+			state.recordLocatorForType(typeName, typeLocator);
+		}
+
+		State reloaded = reload(state.getImage());
+		assertTrue(reloaded.isDecodable());
+		assertEquals(state.typeLocators, reloaded.typeLocators);
+		Map<String, ReferenceCollection> references = reloaded.getReferences();
+		assertEquals(state.getReferences().keySet(), references.keySet());
+		for (Map.Entry<String, ReferenceCollection> entry : state.getReferences().entrySet()) {
+			ReferenceCollection expected = entry.getValue();
+			ReferenceCollection actual = references.get(entry.getKey());
+			assertEquals(expected.getClass(), actual.getClass());
+			assertEquals(toStrings(expected.qualifiedNameReferences), toStrings(actual.qualifiedNameReferences));
+			assertArrayEquals(CharOperation.toStrings(expected.simpleNameReferences), CharOperation.toStrings(actual.simpleNameReferences));
+			assertArrayEquals(CharOperation.toStrings(expected.rootReferences), CharOperation.toStrings(actual.rootReferences));
+			assertArrayEquals(expected.getNameFilter(), actual.getNameFilter());
+			char[][] definedTypeNames = state.getDefinedTypeNamesFor(entry.getKey());
+			if (definedTypeNames == null)
+				assertNull(reloaded.getDefinedTypeNamesFor(entry.getKey()));
+			else
+				assertArrayEquals(CharOperation.toStrings(definedTypeNames), CharOperation.toStrings(reloaded.getDefinedTypeNamesFor(entry.getKey())));
+		}
+		assertTrue(reloaded.isKnownPackage("日本")); //$NON-NLS-1$
+		// an image which was not decoded is written back unchanged
+		byte[] image = state.getImage();
+		assertArrayEquals(image, reload(image).getImage());
+	}
+
+	@Test
+	public void emptyState() throws IOException {
+		State reloaded = reload(newState().getImage());
+		assertTrue(reloaded.isDecodable());
+		assertTrue(reloaded.typeLocators.isEmpty());
+		assertTrue(reloaded.getReferences().isEmpty());
+	}
+
+	@Test
+	public void corruptImageIsNotDecodable() throws IOException {
+		byte[] image = sampleImage();
+		image[image.length - 1] ^= 1; // in the string table, after the header and its checksum
+		State reloaded = reload(image);
+		assertFalse(reloaded.isDecodable());
+		assertTrue(reloaded.typeLocators.isEmpty());
+		assertTrue(reloaded.getReferences().isEmpty());
+	}
+
+	@Test
+	public void truncatedImageIsRejected() {
+		byte[] image = sampleImage();
+		for (int length = 0; length < image.length; length++) {
+			byte[] truncated = new byte[length];
+			System.arraycopy(image, 0, truncated, 0, length);
+			try {
+				State reloaded = reload(truncated);
+				// only rejected once it is decoded, never by an exception
+				assertFalse(reloaded.isDecodable(), "truncated to " + length); //$NON-NLS-1$
+				assertTrue(reloaded.getReferences().isEmpty());
+			} catch (IOException e) {
+				// rejected when read
+			}
+		}
+	}
+
+	private static byte[] sampleImage() {
+		State state = newState();
+		ArrayList<char[]> typeNames = new ArrayList<>();
+		typeNames.add("A".toCharArray()); //$NON-NLS-1$
+		state.record("src/p/A.java", new char[][][] {{"p".toCharArray(), "B".toCharArray()}}, new char[][] {"B".toCharArray()}, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			new char[][] {"p".toCharArray()}, "A".toCharArray(), typeNames); //$NON-NLS-1$ //$NON-NLS-2$
+		state.recordLocatorForType("p/A", "src/p/A.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		return state.getImage();
+	}
+
+	private static State newState() {
+		State state = new State();
+		state.javaProjectName = "p"; //$NON-NLS-1$
+		state.references = new LinkedHashMap<>();
+		state.typeLocators = new LinkedHashMap<>();
+		return state;
+	}
+
+	private static State reload(byte[] image) throws IOException {
+		State state = new State();
+		state.javaProjectName = "p"; //$NON-NLS-1$
+		state.setImage(image);
+		return state;
+	}
+
+	private static List<String> toStrings(char[][][] qualifiedNames) {
+		List<String> strings = new ArrayList<>();
+		for (char[][] qualifiedName : qualifiedNames)
+			strings.add(CharOperation.toString(qualifiedName));
+		return strings;
+	}
+}